@@ -0,0 +1,178 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+import de.uni_stuttgart.ims.nlpbase.nlp.ArgumentLabelCodec;
+import de.uni_stuttgart.ims.nlpbase.nlp.PredicateSenseCodec;
+
+
+/**
+ * Converts the argument labels of a file in CoNLL format
+ * from one argument marker type to another (e.g., ALL to TWO).
+ *
+ * The file is converted line by line with a CoNLLColumnTransformer,
+ * no sentences are created.
+ * Only the argument columns (14 and following) and, if wanted,
+ * the predicate labels (13) are changed, everything else stays as it was.
+ *
+ * @author kesslewd
+ */
+public class ArgumentMarkerConverter {
+
+   /**
+    * Labels in the input file.
+    */
+   private final ArgumentLabelCodec source;
+
+   /**
+    * Labels in the output file.
+    */
+   private final ArgumentLabelCodec target;
+
+   /**
+    * Does the conversion.
+    */
+   private final CoNLLColumnTransformer transformer;
+
+   /**
+    * Rewrite the predicate labels (see 'setNormalizePredicates').
+    */
+   private boolean normalizePredicates = false;
+
+
+   /**
+    * Create a converter.
+    * @param source Argument marker type of the input.
+    * @param target Argument marker type of the output.
+    * @param threads Number of threads used to convert.
+    */
+   public ArgumentMarkerConverter (ArgumentLabelCodec source, ArgumentLabelCodec target, int threads) {
+      this.source = source;
+      this.target = target;
+      this.transformer = new CoNLLColumnTransformer(threads);
+      this.transformer.addRowFunction(new CoNLLColumnTransformer.RowFunction() {
+         @Override
+         public void apply (CoNLLColumnTransformer.Row row) {
+            convertRow(row);
+         }
+      });
+   }
+
+
+   /**
+    * Rewrite the predicate labels (column 13) as ParseWriterCoNLL writes them
+    * (e.g., "comparative.05.1" -&gt; "comparative.05").
+    * Default is false (predicate labels are copied).
+    * @param normalizePredicates true to rewrite the predicate labels.
+    */
+   public void setNormalizePredicates (boolean normalizePredicates) {
+      this.normalizePredicates = normalizePredicates;
+   }
+
+
+   // ======= Files =======
+
+
+   /**
+    * Convert a file.
+    * @param inputFileName Location of input file in CoNLL format (UTF-8).
+    * @param outputFileName Location of output file (UTF-8).
+    * @throws IOException If a file cannot be read or written.
+    */
+   public void convert (String inputFileName, String outputFileName) throws IOException {
+      transformer.transform(inputFileName, outputFileName);
+   }
+
+
+   /**
+    * Convert everything from the reader and write it to the writer.
+    * Neither of them is closed.
+    * @param in Lines in CoNLL format.
+    * @param out Converted lines.
+    * @throws IOException If reading or writing fails.
+    */
+   public void convert (Reader in, Writer out) throws IOException {
+      transformer.transform(in, out);
+   }
+
+
+   // ======= Lines =======
+
+
+   /**
+    * Convert one line.
+    * @param line One line of a file in CoNLL format (without newline).
+    * @return The converted line (the same String if nothing was changed).
+    */
+   public String convertLine (String line) {
+      return transformer.transformLine(line);
+   }
+
+
+   /**
+    * Convert predicate and argument columns of one line.
+    */
+   private void convertRow (CoNLLColumnTransformer.Row row) {
+      // 12 -> PRED Y/N
+      // 13 -> pred name
+      if (normalizePredicates && row.size() > 13 && row.is(12, "Y")) {
+         String value = row.get(13);
+         String label = trimEnd(value);
+         replaceLabel(row, 13, value, label, normalizePredicate(label));
+      }
+
+      // 14 -> arguments for pred 1, 15 -> arguments for pred 2, ...
+      for (int column=14; column<row.size(); column++) {
+         if (!row.is(column, "_")) {
+            String value = row.get(column);
+            String label = trimEnd(value);
+            if (!label.isEmpty())
+               replaceLabel(row, column, value, label, target.encode(source.decode(label)));
+         }
+      }
+   }
+
+
+   /**
+    * Replace the label of a column, but keep whitespace after it
+    * (at the end of the line).
+    */
+   private static void replaceLabel (CoNLLColumnTransformer.Row row, int column, String value, String label, String newLabel) {
+      if (!newLabel.equals(label))
+         row.set(column, newLabel + value.substring(label.length()));
+   }
+
+
+   /**
+    * Remove whitespace at the end.
+    */
+   private static String trimEnd (String value) {
+      int end = value.length();
+      while (end > 0 && Character.isWhitespace(value.charAt(end-1)))
+         end--;
+      return end == value.length() ? value : value.substring(0, end);
+   }
+
+
+   /**
+    * Label of a predicate as ParseWriterCoNLL writes it,
+    * labels without sense are not changed.
+    */
+   private static String normalizePredicate (String label) {
+      try {
+         return PredicateSenseCodec.decode(label).getLabel();
+      } catch (IllegalArgumentException e) {
+         return label;
+      }
+   }
+
+}
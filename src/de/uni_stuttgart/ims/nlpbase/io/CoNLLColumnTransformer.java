@@ -0,0 +1,483 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.io;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * Changes single columns of a file in CoNLL format
+ * without reading it into sentences.
+ *
+ * Functions can be set for single columns (e.g., a new lemma for column 2)
+ * or for whole rows (they see all columns of a line and can change any of them).
+ * Everything else stays as it was, including columns that ParseReaderCoNLL
+ * does not read, whitespace and line endings ("\n" or "\r\n").
+ * Columns that are not changed are never copied into new Strings,
+ * lines where nothing changed are written as they are.
+ * Empty lines (between sentences) are not given to the functions.
+ * Files must be in UTF-8: the text is decoded and encoded again,
+ * so reading a file with invalid UTF-8 fails with an exception
+ * (instead of silently replacing the bytes).
+ *
+ * The file is cut into chunks of lines that are changed in parallel,
+ * the chunks are written in the original order.
+ * The functions are called by several threads at once,
+ * so they must not change shared state.
+ *
+ * Example, replace all deprels "nsubjpass" by "nsubj":
+ * <pre>
+ * CoNLLColumnTransformer transformer = new CoNLLColumnTransformer(4);
+ * transformer.setColumnFunction(10, new CoNLLColumnTransformer.ColumnFunction() {
+ *    public String apply (String value) {
+ *       return value.equals("nsubjpass") ? "nsubj" : value;
+ *    }
+ * });
+ * transformer.transform("in.conll", "out.conll");
+ * </pre>
+ *
+ * @author kesslewd
+ */
+public class CoNLLColumnTransformer {
+
+   /**
+    * Number of characters read and changed together (about).
+    */
+   private static final int CHUNK_SIZE = 1 << 20;
+
+   private static final Charset UTF8 = Charset.forName("UTF-8");
+
+   /**
+    * Number of threads.
+    */
+   private final int threads;
+
+   /**
+    * Function for each column (null = not changed).
+    */
+   private ColumnFunction[] columnFunctions = new ColumnFunction[0];
+
+   /**
+    * Functions over whole rows, called after the column functions.
+    */
+   private final List<RowFunction> rowFunctions = new ArrayList<RowFunction>();
+
+
+   /**
+    * New value for one column.
+    */
+   public interface ColumnFunction {
+      /**
+       * @param value The value in the file.
+       * @return The new value (the same String or null if it should not be changed).
+       */
+      String apply (String value);
+   }
+
+
+   /**
+    * Changes to a whole row.
+    */
+   public interface RowFunction {
+      /**
+       * @param row The columns of one line, change them with 'Row.set'.
+       */
+      void apply (Row row);
+   }
+
+
+   /**
+    * Create a transformer that does not change anything (yet).
+    * @param threads Number of threads used.
+    */
+   public CoNLLColumnTransformer (int threads) {
+      this.threads = Math.max(1, threads);
+   }
+
+
+   /**
+    * Set the function for one column (replaces the function set before).
+    * Only call this before transforming.
+    * @param column Number of the column (0 = ID, 1 = form, 2 = lemma, ...).
+    * @param function New value of the column (null = column is not changed).
+    */
+   public void setColumnFunction (int column, ColumnFunction function) {
+      if (column >= columnFunctions.length) {
+         ColumnFunction[] newFunctions = new ColumnFunction[column + 1];
+         System.arraycopy(columnFunctions, 0, newFunctions, 0, columnFunctions.length);
+         columnFunctions = newFunctions;
+      }
+      columnFunctions[column] = function;
+   }
+
+
+   /**
+    * Add a function over whole rows (functions are called in the order they were added).
+    * Only call this before transforming.
+    * @param function Changes to a row.
+    */
+   public void addRowFunction (RowFunction function) {
+      rowFunctions.add(function);
+   }
+
+
+   // ======= Files =======
+
+
+   /**
+    * Transform a file.
+    * @param inputFileName Location of input file in CoNLL format (UTF-8).
+    * @param outputFileName Location of output file (UTF-8).
+    * @throws IOException If a file cannot be read or written,
+    *    or the input is not valid UTF-8 (CharacterCodingException).
+    */
+   public void transform (String inputFileName, String outputFileName) throws IOException {
+      // The decoder reports invalid input instead of replacing it
+      Reader in = new InputStreamReader(new FileInputStream(inputFileName), UTF8.newDecoder());
+      try {
+         Writer out = new OutputStreamWriter(new FileOutputStream(outputFileName), UTF8);
+         try {
+            transform(in, out);
+         } finally {
+            out.close();
+         }
+      } finally {
+         in.close();
+      }
+   }
+
+
+   /**
+    * Transform everything from the reader and write it to the writer.
+    * Neither of them is closed.
+    * @param in Lines in CoNLL format.
+    * @param out Transformed lines.
+    * @throws IOException If reading or writing fails.
+    */
+   public void transform (Reader in, Writer out) throws IOException {
+      ExecutorService pool = Executors.newFixedThreadPool(threads);
+      ArrayDeque<Future<String>> pending = new ArrayDeque<Future<String>>();
+      StringBuilder buffered = new StringBuilder(CHUNK_SIZE + 8192);
+      char[] buffer = new char[8192];
+      try {
+         String chunk;
+         while ((chunk = readChunk(in, buffered, buffer)) != null) {
+            final String text = chunk;
+            pending.add(pool.submit(new Callable<String>() {
+               @Override
+               public String call () {
+                  return transformChunk(text);
+               }
+            }));
+            // Keep only a few chunks in memory
+            if (pending.size() > 2 * threads)
+               out.write(pending.poll().get());
+         }
+         while (!pending.isEmpty())
+            out.write(pending.poll().get());
+         out.flush();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new RuntimeException("Interrupted while transforming", e);
+      } catch (ExecutionException e) {
+         throw new RuntimeException("Error in transforming", e.getCause());
+      } finally {
+         pool.shutdownNow();
+      }
+   }
+
+
+   /**
+    * Next complete lines of the reader (null at end of input).
+    * @param buffered Text that was read, but is not yet in a chunk.
+    */
+   private static String readChunk (Reader in, StringBuilder buffered, char[] buffer) throws IOException {
+      int cut;
+      while (true) {
+         if (buffered.length() >= CHUNK_SIZE) {
+            cut = buffered.lastIndexOf("\n") + 1;
+            if (cut > 0)
+               break;
+         }
+         int read = in.read(buffer);
+         if (read < 0) {
+            cut = buffered.length();
+            break;
+         }
+         buffered.append(buffer, 0, read);
+      }
+      if (cut == 0)
+         return null;
+      String chunk = buffered.substring(0, cut);
+      buffered.delete(0, cut);
+      return chunk;
+   }
+
+
+   /**
+    * Transform all lines of a chunk.
+    * @return The transformed chunk (the same String if nothing was changed).
+    */
+   private String transformChunk (String chunk) {
+      StringBuilder result = null;
+      Row row = new Row();
+      int length = chunk.length();
+      int begin = 0;
+      while (begin < length) {
+         int newline = chunk.indexOf('\n', begin);
+         int next = newline < 0 ? length : newline + 1;
+         int end = newline < 0 ? length : newline;
+         if (end > begin && chunk.charAt(end-1) == '\r')
+            end--;
+
+         row.reset(chunk, begin, end);
+         transformRow(row);
+         if (row.isChanged()) {
+            if (result == null) {
+               result = new StringBuilder(length + 1024);
+               result.append(chunk, 0, begin);
+            }
+            row.appendTo(result);
+            result.append(chunk, end, next);
+         } else if (result != null) {
+            result.append(chunk, begin, next);
+         }
+         begin = next;
+      }
+      return result == null ? chunk : result.toString();
+   }
+
+
+   /**
+    * Call all functions on a row (not on empty lines).
+    */
+   private void transformRow (Row row) {
+      if (row.isEmpty())
+         return;
+      int columns = Math.min(row.size(), columnFunctions.length);
+      for (int column=0; column<columns; column++) {
+         ColumnFunction function = columnFunctions[column];
+         if (function != null) {
+            String value = row.get(column);
+            String newValue = function.apply(value);
+            if (newValue != null && newValue != value)
+               row.set(column, newValue);
+         }
+      }
+      for (RowFunction function : rowFunctions) {
+         function.apply(row);
+      }
+   }
+
+
+   // ======= Lines =======
+
+
+   /**
+    * Transform one line.
+    * @param line One line of a file in CoNLL format (without newline).
+    * @return The transformed line (the same String if nothing was changed).
+    */
+   public String transformLine (String line) {
+      Row row = new Row();
+      row.reset(line, 0, line.length());
+      transformRow(row);
+      if (!row.isChanged())
+         return line;
+      StringBuilder result = new StringBuilder(line.length() + 16);
+      row.appendTo(result);
+      return result.toString();
+   }
+
+
+   /**
+    * The columns of one line.
+    * Values are only copied into Strings when they are asked for.
+    */
+   public static class Row {
+
+      private String text;
+      private int begin;
+      private int end;
+
+      /**
+       * Positions of the columns in the text.
+       */
+      private int[] begins = new int[16];
+      private int[] ends = new int[16];
+      private int size;
+
+      /**
+       * New values (null = not changed).
+       */
+      private String[] values = new String[16];
+      private boolean changed;
+
+
+      Row () {
+      }
+
+
+      /**
+       * Use the row for the next line.
+       */
+      void reset (String text, int begin, int end) {
+         if (changed) {
+            for (int i=0; i<size; i++)
+               values[i] = null;
+            changed = false;
+         }
+         this.text = text;
+         this.begin = begin;
+         this.end = end;
+         size = 0;
+         int columnBegin = begin;
+         while (true) {
+            int tab = text.indexOf('\t', columnBegin);
+            int columnEnd = tab < 0 || tab > end ? end : tab;
+            if (size == begins.length)
+               grow();
+            begins[size] = columnBegin;
+            ends[size] = columnEnd;
+            size++;
+            if (columnEnd == end)
+               break;
+            columnBegin = columnEnd + 1;
+         }
+      }
+
+
+      private void grow () {
+         int capacity = begins.length * 2;
+         int[] newBegins = new int[capacity];
+         int[] newEnds = new int[capacity];
+         String[] newValues = new String[capacity];
+         System.arraycopy(begins, 0, newBegins, 0, size);
+         System.arraycopy(ends, 0, newEnds, 0, size);
+         System.arraycopy(values, 0, newValues, 0, size);
+         begins = newBegins;
+         ends = newEnds;
+         values = newValues;
+      }
+
+
+      /**
+       * @return Number of columns.
+       */
+      public int size () {
+         return size;
+      }
+
+
+      /**
+       * @return TRUE if this line has only whitespace (line between sentences).
+       */
+      public boolean isEmpty () {
+         for (int i=begin; i<end; i++) {
+            if (!Character.isWhitespace(text.charAt(i)))
+               return false;
+         }
+         return true;
+      }
+
+
+      /**
+       * @param column Number of the column.
+       * @return The value of the column (the new value if it was changed).
+       */
+      public String get (int column) {
+         checkColumn(column);
+         if (values[column] != null)
+            return values[column];
+         return text.substring(begins[column], ends[column]);
+      }
+
+
+      /**
+       * Compare a column without copying it.
+       * @param column Number of the column.
+       * @param value A value.
+       * @return TRUE if the column has this value (FALSE if the line has no such column).
+       */
+      public boolean is (int column, String value) {
+         if (column < 0 || column >= size)
+            return false;
+         if (values[column] != null)
+            return values[column].equals(value);
+         int length = ends[column] - begins[column];
+         return length == value.length() && text.regionMatches(begins[column], value, 0, length);
+      }
+
+
+      /**
+       * Change the value of a column.
+       * @param column Number of the column (must exist in the line).
+       * @param value The new value (must not contain tabs or newlines).
+       */
+      public void set (int column, String value) {
+         checkColumn(column);
+         if (values[column] == null && is(column, value))
+            return;
+         values[column] = value;
+         changed = true;
+      }
+
+
+      /**
+       * @return TRUE if a column was changed.
+       */
+      public boolean isChanged () {
+         return changed;
+      }
+
+
+      /**
+       * @return The line as it was read (without newline).
+       */
+      public String getLine () {
+         return text.substring(begin, end);
+      }
+
+
+      private void checkColumn (int column) {
+         if (column < 0 || column >= size)
+            throw new IndexOutOfBoundsException("Column " + column + " of a line with " + size + " columns");
+      }
+
+
+      /**
+       * Append the (changed) line to a builder.
+       */
+      void appendTo (StringBuilder builder) {
+         for (int i=0; i<size; i++) {
+            if (i > 0)
+               builder.append('\t');
+            if (values[i] != null)
+               builder.append(values[i]);
+            else
+               builder.append(text, begins[i], ends[i]);
+         }
+      }
+   }
+
+}
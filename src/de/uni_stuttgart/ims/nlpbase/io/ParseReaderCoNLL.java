@@ -19,10 +19,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 
-import de.uni_stuttgart.ims.nlpbase.nlp.ArgumentType;
-import de.uni_stuttgart.ims.nlpbase.nlp.PredicateType;
-import de.uni_stuttgart.ims.nlpbase.nlp.PredicateDirection;
+import de.uni_stuttgart.ims.nlpbase.nlp.ArgumentLabelCodec;
+import de.uni_stuttgart.ims.nlpbase.nlp.PredicateSenseCodec;
+import de.uni_stuttgart.ims.nlpbase.nlp.PredicateSenseCodec.Sense;
 import de.uni_stuttgart.ims.nlpbase.nlp.SRLSentence;
+import de.uni_stuttgart.ims.nlpbase.nlp.TagsetMapping;
 import de.uni_stuttgart.ims.nlpbase.nlp.Word;
 
 
@@ -51,6 +52,16 @@ public class ParseReaderCoNLL implements Closeable {
     * Line number of last read line in current file.
     */
    private int lineno=0;
+
+   /**
+    * Tagset of the POS in the file, null = Penn Treebank (POSUtils).
+    */
+   private TagsetMapping tagsetMapping = null;
+
+   /**
+    * Labels of the arguments in the file, null = global setting of ArgumentType.
+    */
+   private ArgumentLabelCodec argumentCodec = null;
    
    
    
@@ -64,6 +75,27 @@ public class ParseReaderCoNLL implements Closeable {
    }
 
    
+   /**
+    * Set the tagset of the POS in the file.
+    * The category of each POS is then taken from this mapping
+    * (see Word.getPOSCategory).
+    * @param tagsetMapping The mapping (null = Penn Treebank).
+    */
+   public void setTagsetMapping (TagsetMapping tagsetMapping) {
+      this.tagsetMapping = tagsetMapping;
+   }
+
+   
+   /**
+    * Set the argument marker type used to read arguments
+    * (otherwise the global setting 'ArgumentType.useArgumentMarker' is used).
+    * @param argumentCodec The codec (null = global setting).
+    */
+   public void setArgumentLabelCodec (ArgumentLabelCodec argumentCodec) {
+      this.argumentCodec = argumentCodec;
+   }
+
+   
    /**
     * Opens the file set in the constructor.
     * 
@@ -77,6 +109,28 @@ public class ParseReaderCoNLL implements Closeable {
       }
    }
 
+   /**
+    * Opens the file set in the constructor at a position, the next
+    * sentence that is read starts there (closes the file if it is already open).
+    * Line numbers in error messages are counted from this position.
+    *
+    * @param offset Position in the file in bytes (should be the start of a sentence).
+    * @throws IOException If the file cannot be opened.
+    */
+   public void openFileAt(long offset) throws IOException {
+      this.close();
+      FileInputStream in = new FileInputStream(this.inputFileName);
+      try {
+         in.getChannel().position(offset);
+      } catch (IOException e) {
+         in.close();
+         throw e;
+      }
+      this.inputFile = new BufferedReader(new InputStreamReader(in, Charset.forName("UTF-8")));
+      this.fileOpen = true;
+      this.lineno = 0;
+   }
+
    /**
     * Closes the currently open file.
     */
@@ -134,6 +188,8 @@ public class ParseReaderCoNLL implements Closeable {
             
             // Create a word with that info
             Word word = new Word(Integer.parseInt(parts[0]), parts[1], lemma, pos, Integer.parseInt(parts[8]), parts[10]);
+            if (tagsetMapping != null)
+               word.setPOS(pos, tagsetMapping.getCategory(pos));
             
             // Add to tree
             tree.addWord(word);
@@ -143,8 +199,8 @@ public class ParseReaderCoNLL implements Closeable {
             // 13 -> pred name
             if (readPred && parts.length>=14) {
                if (parts[12].equals("Y")) {
-                  String predicate = parts[13];
-                  tree.addPredicate(word, PredicateType.getTypeFromString(predicate), PredicateDirection.getDirectionFromString(predicate));
+                  Sense sense = PredicateSenseCodec.decode(parts[13]);
+                  tree.addPredicate(word, sense.getType(), sense.getDirection());
                }
             }
             
@@ -173,11 +229,12 @@ public class ParseReaderCoNLL implements Closeable {
          
          // Build SRL structure (add collected args)
          if (readArgs) {
+            ArgumentLabelCodec codec = argumentCodec != null ? argumentCodec : ArgumentLabelCodec.getDefault();
             List<Word> predicates = tree.getPredicates();
             for (Integer predicateIndex : srlInformation.keySet()) {
                HashMap<Word, String> args = srlInformation.get(predicateIndex);
                for (Entry<Word, String> arg : args.entrySet()) {
-                  tree.addArgument(predicates.get(predicateIndex), arg.getKey(), ArgumentType.getTypeFromString(arg.getValue()));
+                  tree.addArgument(predicates.get(predicateIndex), arg.getKey(), codec.decode(arg.getValue()));
                }
             }
          }
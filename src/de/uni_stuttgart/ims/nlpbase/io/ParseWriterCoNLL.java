@@ -14,6 +14,8 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 
+import de.uni_stuttgart.ims.nlpbase.nlp.ArgumentLabelCodec;
+import de.uni_stuttgart.ims.nlpbase.nlp.SRLSentence;
 import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
 import de.uni_stuttgart.ims.nlpbase.nlp.Word;
 
@@ -40,6 +42,11 @@ public class ParseWriterCoNLL implements Closeable {
     */
    private boolean fileOpen;
    
+   /**
+    * Labels of the arguments, null = global setting of ArgumentType.
+    */
+   private ArgumentLabelCodec argumentCodec = null;
+   
 
    /**
     * Create a writer for a file in CoNLL format. 
@@ -52,6 +59,16 @@ public class ParseWriterCoNLL implements Closeable {
    }
 
 
+   /**
+    * Set the argument marker type used to write arguments of SRLSentences
+    * (otherwise the global setting 'ArgumentType.useArgumentMarker' is used).
+    * @param argumentCodec The codec (null = global setting).
+    */
+   public void setArgumentLabelCodec (ArgumentLabelCodec argumentCodec) {
+      this.argumentCodec = argumentCodec;
+   }
+
+
    /**
     * Closes the currently open file.
     */
@@ -85,10 +102,14 @@ public class ParseWriterCoNLL implements Closeable {
          this.openFile();
       
          List<Word> wordlist = tree.getWordList();
+         SRLSentence srlTree = null;
+         if (argumentCodec != null && tree instanceof SRLSentence)
+            srlTree = (SRLSentence) tree;
          
          int i = 1;
          for (Word word: wordlist) {            
-            this.outputFile.write(i + "\t" + tree.wordToCoNLLString(word));
+            String line = srlTree != null ? srlTree.wordToCoNLLString(word, argumentCodec) : tree.wordToCoNLLString(word);
+            this.outputFile.write(i + "\t" + line);
             this.outputFile.newLine();
             i++;
          }
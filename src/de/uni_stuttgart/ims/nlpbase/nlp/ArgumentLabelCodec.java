@@ -0,0 +1,251 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.nlp;
+
+import de.uni_stuttgart.ims.nlpbase.nlp.ArgumentType.argumentMarkerType;
+
+
+/**
+ * Converts argument labels in the files ("A0", "A1", ...) to ArgumentTypes
+ * and back for one argument marker type (ONE, TWO, THRA, THRE, ALL).
+ *
+ * All conversions are computed once when the codec is created,
+ * afterwards they are array lookups.
+ * A codec cannot be changed, so different readers/writers can use
+ * different marker types at the same time
+ * (in contrast to the global setting 'ArgumentType.useArgumentMarker').
+ *
+ * Raw labels (see 'ArgumentType.getUnmappedTypeFromString'):
+ * A0 : Aspect
+ * A1 : Entity 1
+ * A2 : Entity 2
+ * A3 : Sentiment
+ *
+ * @author kesslewd
+ */
+public final class ArgumentLabelCodec {
+
+   /**
+    * One codec for each marker type (index is the ordinal).
+    */
+   private static final ArgumentLabelCodec[] codecs;
+
+   static {
+      argumentMarkerType[] markers = argumentMarkerType.values();
+      codecs = new ArgumentLabelCodec[markers.length];
+      for (argumentMarkerType marker : markers) {
+         codecs[marker.ordinal()] = new ArgumentLabelCodec(marker);
+      }
+   }
+
+
+   private final argumentMarkerType marker;
+
+   /**
+    * Type of the labels "A0" to "A3" (index 0-3) and of all other labels (index 4).
+    */
+   private final ArgumentType[] types;
+
+   /**
+    * Label of each type (index is the ordinal).
+    */
+   private final String[] labels;
+
+   /**
+    * Types that may be assigned with this marker type.
+    */
+   private final ArgumentType[] argumentTypes;
+
+
+   private ArgumentLabelCodec (argumentMarkerType marker) {
+      this.marker = marker;
+
+      this.types = new ArgumentType[5];
+      for (int i=0; i<4; i++) {
+         types[i] = mapType(marker, "A" + i);
+      }
+      types[4] = mapType(marker, "A");
+
+      ArgumentType[] values = ArgumentType.values();
+      this.labels = new String[values.length];
+      for (ArgumentType type : values) {
+         labels[type.ordinal()] = mapString(marker, type);
+      }
+
+      switch (marker) {
+      case ONE: argumentTypes = new ArgumentType[] {ArgumentType.argument}; break;
+      case TWO: argumentTypes = new ArgumentType[] {ArgumentType.entity1, ArgumentType.aspect}; break;
+      case THRA: argumentTypes = new ArgumentType[] {ArgumentType.entity1, ArgumentType.aspect, ArgumentType.sentiment}; break;
+      case THRE: argumentTypes = new ArgumentType[] {ArgumentType.entity1, ArgumentType.entity2, ArgumentType.aspect}; break;
+      default: argumentTypes = new ArgumentType[] {ArgumentType.entity1, ArgumentType.entity2, ArgumentType.aspect, ArgumentType.sentiment};
+      }
+   }
+
+
+   /**
+    * Go from String to ArgumentType according to the marker type
+    * (only used to fill the tables).
+    */
+   private static ArgumentType mapType (argumentMarkerType marker, String name) {
+      switch (marker) {
+      case ONE: return ArgumentType.argument;
+      case TWO:
+         if (name.equals("A0") || name.equals("A3")) { // aspect, sentiment -> map to aspect
+            return ArgumentType.aspect;
+         } else { // entity 1 and 2 -> map to one entity
+            return ArgumentType.entity1;
+         }
+      case THRA:
+         if (name.equals("A0")) {
+            return ArgumentType.aspect;
+         } else if (name.equals("A3")) {
+            return ArgumentType.sentiment;
+         } else { // entity 1 and 2 -> map to one entity
+            return ArgumentType.entity1;
+         }
+      case THRE:
+         if (name.equals("A1")) {
+            return ArgumentType.entity1;
+         } else if (name.equals("A2")) {
+            return ArgumentType.entity2;
+         } else { // aspect, sentiment -> map to aspect
+            return ArgumentType.aspect;
+         }
+      default: return ArgumentType.getUnmappedTypeFromString(name);
+      }
+   }
+
+
+   /**
+    * Go from ArgumentType to String according to the marker type
+    * (only used to fill the tables).
+    */
+   private static String mapString (argumentMarkerType marker, ArgumentType type) {
+      switch (marker) {
+      case ONE: return "A0";
+      case TWO:
+         if (type == ArgumentType.aspect || type == ArgumentType.sentiment) {
+            return "A0";
+         } else { // entity 1 and 2
+            return "A1";
+         }
+      case THRA:
+         if (type == ArgumentType.aspect) {
+            return "A0";
+         } else if (type == ArgumentType.sentiment) {
+            return "A3";
+         } else { // entity 1 and 2
+            return "A1";
+         }
+      case THRE:
+         if (type == ArgumentType.aspect || type == ArgumentType.sentiment) {
+            return "A0";
+         } else if (type == ArgumentType.entity1) {
+            return "A1";
+         } else { // entity2
+            return "A2";
+         }
+      default: return type.getUnmappedString();
+      }
+   }
+
+
+   // ======= Get codecs =======
+
+
+   /**
+    * @param marker An argument marker type.
+    * @return The codec for this marker type.
+    */
+   public static ArgumentLabelCodec forMarker (argumentMarkerType marker) {
+      return codecs[marker.ordinal()];
+   }
+
+
+   /**
+    * @param marker Name of an argument marker type (e.g., "thra").
+    * @return The codec for this marker type.
+    */
+   public static ArgumentLabelCodec forMarker (String marker) {
+      return forMarker(argumentMarkerType.valueOf(marker.toUpperCase()));
+   }
+
+
+   /**
+    * @return The codec for the global setting 'ArgumentType.useArgumentMarker'.
+    */
+   public static ArgumentLabelCodec getDefault () {
+      return forMarker(ArgumentType.useArgumentMarker);
+   }
+
+
+   // ======= Conversion =======
+
+
+   /**
+    * @return The marker type of this codec.
+    */
+   public argumentMarkerType getMarkerType () {
+      return marker;
+   }
+
+
+   /**
+    * Go from String to ArgumentType.
+    * @param label The entry in the parsed file, e.g., "A0"
+    * @return The corresponding type depending on the marker type.
+    */
+   public ArgumentType decode (String label) {
+      if (label.length() == 2 && label.charAt(0) == 'A') {
+         int index = label.charAt(1) - '0';
+         if (index >= 0 && index < 4)
+            return types[index];
+      }
+      return types[4];
+   }
+
+
+   /**
+    * Go from ArgumentType to String.
+    * @param type An argument type.
+    * @return The corresponding String depending on the marker type.
+    */
+   public String encode (ArgumentType type) {
+      return labels[type.ordinal()];
+   }
+
+
+   /**
+    * Get all possible argument types.
+    * @return List of types that may be assigned.
+    */
+   public ArgumentType[] getArgumentTypes () {
+      return argumentTypes.clone();
+   }
+
+
+   /**
+    * List the labels of all possible argument types
+    * (in the order of 'getArgumentTypes').
+    * @return The labels.
+    */
+   public String[] getLabels () {
+      String[] str = new String[argumentTypes.length];
+      for (int i=0; i<argumentTypes.length; i++) {
+         str[i] = encode(argumentTypes[i]);
+      }
+      return str;
+   }
+
+
+   @Override
+   public String toString () {
+      return "ArgumentLabelCodec " + marker;
+   }
+
+}
@@ -164,74 +164,23 @@ public enum ArgumentType {
 
    /**
     * Go from String to ArgumentType according to the argument marker setting.
+    * See ArgumentLabelCodec for a version that does not use the global setting.
     * @param name The entry in the parsed file, e.g., "A0"
     * @return The corresponding type depending on the mapping.
     */
    public static ArgumentType getTypeFromString (String name) {
-
-      switch (useArgumentMarker) {
-      case ONE: return ArgumentType.argument;
-      case TWO:
-         if (name.equals("A0") || name.equals("A3")) { // aspect, sentiment -> map to aspect
-            return ArgumentType.aspect;
-         } else { // entity 1 and 2 -> map to one entity
-            return ArgumentType.entity1;
-         }
-      case THRA: 
-         if (name.equals("A0")) {
-            return ArgumentType.aspect;
-         } else if (name.equals("A3")) {
-            return ArgumentType.sentiment;
-         } else { // entity 1 and 2 -> map to one entity
-            return ArgumentType.entity1;
-         }
-       case THRE: 
-         if (name.equals("A1")) {
-            return ArgumentType.entity1;
-         } else if (name.equals("A2")) {
-            return ArgumentType.entity2;
-         } else { // aspect, sentiment -> map to aspect
-            return ArgumentType.aspect;
-         }
-      case ALL: return getUnmappedTypeFromString(name);
-      }
-      return null;
+      return ArgumentLabelCodec.forMarker(useArgumentMarker).decode(name);
    }
       
       
 
    /**
     * Get Strings for arguments according to the argument marker setting.
+    * See ArgumentLabelCodec for a version that does not use the global setting.
     * @return The corresponding Strings depending on the mapping.
     */
    public String getMappedString() {
-      switch (useArgumentMarker) {
-      case ONE: return "A0";
-      case TWO:
-         if (this == ArgumentType.aspect || this == ArgumentType.sentiment) {
-            return "A0";
-         } else { // entity 1 and 2
-            return "A1";
-         }
-      case THRA: 
-         if (this == ArgumentType.aspect) {
-            return "A0";
-         } else if (this == ArgumentType.sentiment) {
-            return "A3";
-         } else { // entity 1 and 2
-            return "A1";
-         }
-       case THRE: 
-         if (this == ArgumentType.aspect || this == ArgumentType.sentiment) {
-            return "A0";
-         } else if (this == ArgumentType.entity1) {
-            return "A1";
-         } else { // entity2
-            return "A2";
-         }
-      case ALL: return this.getUnmappedString();
-      }
-      return null;
+      return ArgumentLabelCodec.forMarker(useArgumentMarker).encode(this);
    }
    
    
@@ -240,16 +189,7 @@ public enum ArgumentType {
     * @return List of types that may be assigned.
     */
    public static ArgumentType[] getAllArgumentTypes () {
-      
-      switch (useArgumentMarker) {
-      case ONE: return new ArgumentType[] {argument};
-      case TWO: return new ArgumentType[] {entity1, aspect};
-      case THRA: return new ArgumentType[] {entity1, aspect, sentiment};
-      case THRE: return new ArgumentType[] {entity1, entity2, aspect};
-      case ALL: return new ArgumentType[] {entity1, entity2, aspect, sentiment};
-      }
-      return null;
-      
+      return ArgumentLabelCodec.forMarker(useArgumentMarker).getArgumentTypes();
    }
        
      
@@ -262,14 +202,7 @@ public enum ArgumentType {
     * @return [mapping for aspect, mapping for entity1, mapping for entity2, mapping for sentiment]
     */
    public static String[] getMappedStrings() {
-      ArgumentType[] myset = getAllArgumentTypes();
-      String[] str = new String[myset.length];
-      int i=0;
-      for (ArgumentType a: myset) {
-         str[i] = a.getMappedString();
-         i++;
-      }
-      return str;
+      return ArgumentLabelCodec.forMarker(useArgumentMarker).getLabels();
    }
    
    
@@ -0,0 +1,291 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.nlp;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+
+
+/**
+ * The text of a document with the positions of its sentences and tokens.
+ *
+ * Positions (and POS tags, if there are any) are stored in arrays,
+ * Sentence objects are only built when asked for and are kept
+ * as long as there is enough memory (SoftReference).
+ * So many documents can be kept in memory at once.
+ * Changes to a Sentence object are not stored in the document
+ * (except POS tags set with 'setPOSTags').
+ *
+ * Sentences are numbered from 0, the words in a sentence from 1
+ * (as in Sentence, 0 is ROOT).
+ *
+ * @author kesslewd
+ */
+public class Document {
+
+   /**
+    * The text of the document.
+    */
+   private final String text;
+
+   private int numSentences = 0;
+   private int[] sentenceBegins = new int[8];
+   private int[] sentenceEnds = new int[8];
+
+   /**
+    * Index of the first token of each sentence in the token arrays,
+    * the last entry is the number of tokens.
+    */
+   private int[] firstToken = new int[9];
+
+   private int[] tokenBegins = new int[64];
+   private int[] tokenEnds = new int[64];
+
+   /**
+    * POS tag of each token, null if no tags were set.
+    */
+   private String[] tags;
+
+   /**
+    * Sentences that have been built already.
+    */
+   private SoftReference<SRLSentence>[] sentences;
+
+
+   /**
+    * Create a document without sentences.
+    * @param text The text of the document.
+    */
+   public Document (String text) {
+      this.text = text;
+   }
+
+
+   // ======= Building =======
+
+
+   /**
+    * Add a sentence at the end of the document.
+    * @param begin Start of the sentence in the text.
+    * @param end End of the sentence in the text (+1 more than the last character).
+    * @param tokenBegins Start of each token in the text.
+    * @param tokenEnds End of each token in the text.
+    * @param numTokens Number of tokens (the arrays may be longer).
+    * @return Index of the sentence.
+    */
+   public synchronized int addSentence (int begin, int end, int[] tokenBegins, int[] tokenEnds, int numTokens) {
+      if (numSentences == sentenceBegins.length) {
+         sentenceBegins = Arrays.copyOf(sentenceBegins, 2 * numSentences);
+         sentenceEnds = Arrays.copyOf(sentenceEnds, 2 * numSentences);
+         firstToken = Arrays.copyOf(firstToken, 2 * numSentences + 1);
+      }
+      int tokens = firstToken[numSentences];
+      if (tokens + numTokens > this.tokenBegins.length) {
+         int capacity = Math.max(2 * this.tokenBegins.length, tokens + numTokens);
+         this.tokenBegins = Arrays.copyOf(this.tokenBegins, capacity);
+         this.tokenEnds = Arrays.copyOf(this.tokenEnds, capacity);
+         if (tags != null)
+            tags = Arrays.copyOf(tags, capacity);
+      }
+      System.arraycopy(tokenBegins, 0, this.tokenBegins, tokens, numTokens);
+      System.arraycopy(tokenEnds, 0, this.tokenEnds, tokens, numTokens);
+
+      sentenceBegins[numSentences] = begin;
+      sentenceEnds[numSentences] = end;
+      firstToken[numSentences+1] = tokens + numTokens;
+      numSentences++;
+      return numSentences-1;
+   }
+
+
+   /**
+    * Set the POS tags of the words of a sentence.
+    * @param sentence Index of the sentence.
+    * @param posTags One tag per token.
+    */
+   public synchronized void setPOSTags (int sentence, String[] posTags) {
+      checkSentence(sentence);
+      if (posTags.length != getNumberOfTokens(sentence))
+         throw new IllegalArgumentException("Sentence " + sentence + " has " + getNumberOfTokens(sentence)
+               + " tokens, got " + posTags.length + " tags");
+      if (tags == null)
+         tags = new String[tokenBegins.length];
+      System.arraycopy(posTags, 0, tags, firstToken[sentence], posTags.length);
+      // rebuild with new tags (sentences added after the last 'getSentence' were never built)
+      if (sentences != null && sentence < sentences.length)
+         sentences[sentence] = null;
+   }
+
+
+   // ======= Access =======
+
+
+   /**
+    * @return The text of the document.
+    */
+   public String getText () {
+      return text;
+   }
+
+   /**
+    * @return Number of sentences.
+    */
+   public synchronized int getNumberOfSentences () {
+      return numSentences;
+   }
+
+   /**
+    * @param sentence Index of the sentence.
+    * @return Start of the sentence in the text.
+    */
+   public synchronized int getSentenceBegin (int sentence) {
+      checkSentence(sentence);
+      return sentenceBegins[sentence];
+   }
+
+   /**
+    * @param sentence Index of the sentence.
+    * @return End of the sentence in the text (+1 more than the last character).
+    */
+   public synchronized int getSentenceEnd (int sentence) {
+      checkSentence(sentence);
+      return sentenceEnds[sentence];
+   }
+
+   /**
+    * @param sentence Index of the sentence.
+    * @return Number of tokens in the sentence.
+    */
+   public synchronized int getNumberOfTokens (int sentence) {
+      checkSentence(sentence);
+      return firstToken[sentence+1] - firstToken[sentence];
+   }
+
+   /**
+    * @param sentence Index of the sentence.
+    * @param wordId ID of the word in the sentence (starting with 1).
+    * @return Start of the word in the text.
+    */
+   public synchronized int getTokenBegin (int sentence, int wordId) {
+      return tokenBegins[tokenIndex(sentence, wordId)];
+   }
+
+   /**
+    * @param sentence Index of the sentence.
+    * @param wordId ID of the word in the sentence (starting with 1).
+    * @return End of the word in the text (+1 more than the last character).
+    */
+   public synchronized int getTokenEnd (int sentence, int wordId) {
+      return tokenEnds[tokenIndex(sentence, wordId)];
+   }
+
+   /**
+    * Start of a word from a sentence of this document.
+    * @param sentence Index of the sentence the word is from.
+    * @param word A word from that sentence.
+    * @return Start of the word in the text.
+    */
+   public int getBegin (int sentence, Word word) {
+      return getTokenBegin(sentence, word.getId());
+   }
+
+   /**
+    * End of a word from a sentence of this document.
+    * @param sentence Index of the sentence the word is from.
+    * @param word A word from that sentence.
+    * @return End of the word in the text (+1 more than the last character).
+    */
+   public int getEnd (int sentence, Word word) {
+      return getTokenEnd(sentence, word.getId());
+   }
+
+   /**
+    * Find the sentence at a position in the text.
+    * @param offset Character offset.
+    * @return Index of the sentence, -1 if the offset is not in a sentence.
+    */
+   public synchronized int getSentenceAt (int offset) {
+      int lo = 0;
+      int hi = numSentences;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (sentenceBegins[mid] <= offset)
+            lo = mid+1;
+         else
+            hi = mid;
+      }
+      int sentence = lo-1;
+      return (sentence >= 0 && offset < sentenceEnds[sentence]) ? sentence : -1;
+   }
+
+
+   /**
+    * Get a sentence, build it if needed.
+    * The words have the text they cover as form,
+    * the POS tag if there is one (empty otherwise)
+    * and no lemma or dependency information.
+    * @param sentence Index of the sentence.
+    * @return The sentence.
+    */
+   public synchronized SRLSentence getSentence (int sentence) {
+      checkSentence(sentence);
+      if (sentences == null || sentences.length < numSentences) {
+         SoftReference<SRLSentence>[] newSentences = newReferenceArray(sentenceBegins.length);
+         if (sentences != null)
+            System.arraycopy(sentences, 0, newSentences, 0, sentences.length);
+         sentences = newSentences;
+      }
+      SoftReference<SRLSentence> reference = sentences[sentence];
+      SRLSentence result = (reference == null) ? null : reference.get();
+      if (result == null) {
+         result = buildSentence(sentence);
+         sentences[sentence] = new SoftReference<SRLSentence>(result);
+      }
+      return result;
+   }
+
+
+   /**
+    * Create an empty array for the sentence references.
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   private static SoftReference<SRLSentence>[] newReferenceArray (int size) {
+      return new SoftReference[size];
+   }
+
+
+   /**
+    * Build a new sentence object.
+    * @param sentence Index of the sentence.
+    * @return The sentence.
+    */
+   private SRLSentence buildSentence (int sentence) {
+      SRLSentence result = new SRLSentence();
+      for (int i=firstToken[sentence]; i<firstToken[sentence+1]; i++) {
+         String form = text.substring(tokenBegins[i], tokenEnds[i]);
+         String pos = (tags == null || tags[i] == null) ? "" : tags[i];
+         result.addWord(new Word(i - firstToken[sentence] + 1, form, "", pos, 0, ""));
+      }
+      return result;
+   }
+
+
+   private int tokenIndex (int sentence, int wordId) {
+      checkSentence(sentence);
+      if (wordId < 1 || wordId > firstToken[sentence+1] - firstToken[sentence])
+         throw new IndexOutOfBoundsException("Word " + wordId + " in sentence " + sentence);
+      return firstToken[sentence] + wordId - 1;
+   }
+
+   private void checkSentence (int sentence) {
+      if (sentence < 0 || sentence >= numSentences)
+         throw new IndexOutOfBoundsException("Sentence " + sentence + ", size " + numSentences);
+   }
+
+
+}
@@ -7,16 +7,12 @@
 
 package de.uni_stuttgart.ims.nlpbase.nlp;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 
 /**
  * Wrapper around Parts of Speech as assigned by tagger or parser
  * to ensure easy adaptability to a new tagest or language.
+ * The methods with a String POS use the Penn Treebank tagset,
+ * use a TagsetMapping for other tagsets.
  * @author kesslewd
  */
 public class POSUtils {
@@ -33,45 +29,78 @@ public class POSUtils {
    
 
    /**
-    * List of punctuation characters
+    * Mapping used by all methods with a String POS.
     */
-   private static List<Character> punctuationChar = Arrays.asList(
-         '.',',',';',':','!','?', // sentence punctuation
-         '(',')','[',']', // parenthesis
-         '\'','`','"', // quotes
-         '-','*','/','\\' // other
-         );
+   private static final TagsetMapping mapping = TagsetMapping.PENN_TREEBANK;
+
 
    /**
-    * List of punctuation POS
+    * @return The tagset mapping used by the methods of this class (Penn Treebank).
     */
-   private static List<String> punctuationPOS = Arrays.asList(
-         ".",",",";",":","!","?", // sentence punctuation
-         "-lrb-","-rrb-","[","]", "(", ")", // parenthesis
-         "\"","`","'", // quotes
-         "-","--","*","/","\\","$" // other         
-         );
-   
-   
-   private static final Map<POSCategory, List<String>> posMapping = createMap();
-
-   private static Map<POSCategory, List<String>> createMap() {
-      HashMap<POSCategory, List<String>> result = new HashMap<POSCategory, List<String>>();
-      result.put(POSCategory.NOUN, Arrays.asList("NN", "NNP", "NNPS", "NNS"));
-      result.put(POSCategory.PRONOUN, Arrays.asList("PRP", "PRP$", "WP", "WP$"));
-      result.put(POSCategory.ADJECTIVE, Arrays.asList("JJ", "JJR", "JJS"));
-      result.put(POSCategory.ADVERB, Arrays.asList("RB", "RBR", "RBS", "WRB"));
-      result.put(POSCategory.VERB, Arrays.asList("MD", "VB", "VBD", "VBG", "VBN", "VBP", "VBZ"));
-      
-      result.put(POSCategory.PREPOSITION, Arrays.asList("IN", "POS", "RP", "TO"));
-      result.put(POSCategory.DETERMINER, Arrays.asList("DT", "WDT", "PDT", "EX"));
-      result.put(POSCategory.CONJUNCTION, Arrays.asList("CC"));
-      result.put(POSCategory.NUMBER, Arrays.asList("CD"));
-      result.put(POSCategory.PUNCTUATION, punctuationPOS);
-      
-      return Collections.unmodifiableMap(result);
+   public static TagsetMapping getDefaultMapping () {
+      return mapping;
    }
-   
+
+
+   /**
+    * Get the number used for this POS in the category table.
+    * Checking the category of a number is a single array access.
+    * @param pos Penn Treebank part-of-speech tag
+    * @return Number of the POS (0 if it is not in the mapping).
+    */
+   public static int getPOSId (String pos) {
+      return mapping.getId(pos);
+   }
+
+
+   /**
+    * Returns the POS category of the given POS number.
+    * @param posId Number from 'getPOSId'.
+    * @return POS Category ('OTHER' if none is found).
+    */
+   public static POSCategory getPOSCategory (int posId) {
+      return mapping.getCategory(posId);
+   }
+
+
+   /**
+    * Combine categories to check them with one operation (see 'isInCategories').
+    * @param categories Some categories.
+    * @return Bit mask with one bit for each category.
+    */
+   public static int mask (POSCategory... categories) {
+      int mask = 0;
+      for (POSCategory category : categories) {
+         mask |= 1 << category.ordinal();
+      }
+      return mask;
+   }
+
+
+   /**
+    * Checks whether the given POS is in one of the categories.
+    * @param pos Penn Treebank part-of-speech tag
+    * @param mask Categories (see 'mask').
+    * @return TRUE if the category of the pos is in the mask, FALSE otherwise.
+    */
+   public static boolean isInCategories (String pos, int mask) {
+      return (mask & (1 << mapping.getCategory(mapping.getId(pos)).ordinal())) != 0;
+   }
+
+
+   /**
+    * Checks whether the POS of a word is in one of the categories
+    * (uses the category stored in the word).
+    * @param word A word.
+    * @param mask Categories (see 'mask').
+    * @return TRUE if the category of the word is in the mask,
+    *    FALSE otherwise (also if the word has no POS).
+    */
+   public static boolean isInCategories (Word word, int mask) {
+      POSCategory category = word.getPOSCategory();
+      return category != null && (mask & (1 << category.ordinal())) != 0;
+   }
+
 
    /**
     * Checks whether the given String POS is in the given category.
@@ -80,11 +109,7 @@ public class POSUtils {
     * @return TRUE if the pos is in the category, FALSE otherwise.
     */
    private static boolean checkMapping (POSCategory category, String pos) {      
-      List<String> listy = posMapping.get(category);
-      if (listy != null)
-         return listy.contains(pos);
-      else 
-         return false;
+      return mapping.getCategory(mapping.getId(pos)) == category;
    }
    
 
@@ -186,36 +211,7 @@ public class POSUtils {
     * @return POS Category ('OTHER' if none is found).
     */
    public static POSCategory getPOSCategory (String pos) {
-      
-      if (pos == null || pos.isEmpty())
-         return null;
-      
-      if (isNounPOS(pos))
-         return POSCategory.NOUN;
-      if (isAdjectivePOS(pos))
-         return POSCategory.ADJECTIVE;
-      if (isAdverbPOS(pos))
-         return POSCategory.ADVERB;
-      if (isVerbPOS(pos))
-         return POSCategory.VERB;
-
-      if (isPronounPOS(pos))
-         return POSCategory.PRONOUN;
-      if (isPrepositionPOS(pos))
-         return POSCategory.PREPOSITION;
-      if (isDeterminerPOS(pos))
-         return POSCategory.DETERMINER;
-      if (isConjunctionPOS(pos))
-         return POSCategory.CONJUNCTION;
-      
-      if (isNumberPOS(pos))
-         return POSCategory.NUMBER;
-      if (isPunctuationPOS(pos))
-         return POSCategory.PUNCTUATION;
-
-      
-      return POSCategory.OTHER;
-
+      return mapping.getCategory(pos);
    }
    
 
@@ -255,18 +251,7 @@ public class POSUtils {
     *    false in every other case (including null, empty String, ROOT)
     */
    public static boolean isPunctuationWord (String word) {
-            
-      if (word == null || word.equals("")) { 
-         return false;
-      }
-      
-      for (Character c : word.toCharArray()) {
-         if (!punctuationChar.contains(c)) {
-            return false;
-         }
-      }
-      return true;
-      
+      return WordShape.isPunctuationWord(word);
    }
    
 }
@@ -41,19 +41,11 @@ public enum PredicateDirection {
     * 05 = ranked inferior,
     * 06 = superlative inferior.
     *  
-    * @param name The entry in the parsed file, e.g., "05"
+    * @param name The entry in the parsed file, e.g., "comparative.05"
     * @return Direction of the comparison as coded in the type.
     */
    public static PredicateDirection getDirectionFromString(String name) {
-      String[] parts = name.split("\\.");
-      String type = parts[1];
-      
-      if (type.equals("05") || type.equals("06"))
-         return PredicateDirection.INFERIOR;
-      if (type.equals("01") || type.equals("03"))
-         return PredicateDirection.SUPERIOR;
-      
-      return PredicateDirection.UNDEFINED;
+      return PredicateSenseCodec.decode(name).getDirection();
    }
 
 }
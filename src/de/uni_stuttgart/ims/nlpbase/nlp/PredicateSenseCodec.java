@@ -0,0 +1,199 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.nlp;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Converts predicate labels in the files (e.g., "comparative.05")
+ * to comparison type and direction and back.
+ *
+ * A label is only parsed the first time it is seen, afterwards
+ * the result is taken from a cache. The labels of all type/direction
+ * combinations are created once, writing a label creates no Strings.
+ *
+ * The senses are
+ * 01 = ranked superior,
+ * 02 = equative,
+ * 03 = superlative superior,
+ * 04 = difference,
+ * 05 = ranked inferior,
+ * 06 = superlative inferior.
+ *
+ * @author kesslewd
+ */
+public final class PredicateSenseCodec {
+
+   /**
+    * Written before the sense of a predicate.
+    */
+   public static final String PREFIX = "comparative.";
+
+   /**
+    * Maximum number of labels in the cache
+    * (labels that are not in the cache are parsed every time).
+    */
+   private static final int MAX_CACHE_SIZE = 1024;
+
+   /**
+    * Parsed labels.
+    */
+   private static final ConcurrentHashMap<String, Sense> cache = new ConcurrentHashMap<String, Sense>();
+
+   /**
+    * Sense of each type and direction (index is the ordinal).
+    */
+   private static final Sense[][] senses;
+
+   static {
+      PredicateType[] types = PredicateType.values();
+      PredicateDirection[] directions = PredicateDirection.values();
+      senses = new Sense[types.length][directions.length];
+      for (PredicateType type : types) {
+         for (PredicateDirection direction : directions) {
+            String code = PredicateType.getStringFromType(type, direction);
+            senses[type.ordinal()][direction.ordinal()] = new Sense(type, getDirection(code), PREFIX + code);
+         }
+      }
+   }
+
+
+   private PredicateSenseCodec () {
+   }
+
+
+   /**
+    * Type and direction of a predicate.
+    * Cannot be changed, the same object is returned for the same label.
+    */
+   public static final class Sense {
+      private final PredicateType type;
+      private final PredicateDirection direction;
+      private final String label;
+
+      private Sense (PredicateType type, PredicateDirection direction, String label) {
+         this.type = type;
+         this.direction = direction;
+         this.label = label;
+      }
+
+      /**
+       * @return Type of the comparison.
+       */
+      public PredicateType getType () {
+         return type;
+      }
+
+      /**
+       * @return Direction of the comparison.
+       */
+      public PredicateDirection getDirection () {
+         return direction;
+      }
+
+      /**
+       * @return Label to write in a file, e.g., "comparative.05".
+       */
+      public String getLabel () {
+         return label;
+      }
+
+      @Override
+      public String toString () {
+         return label;
+      }
+   }
+
+
+   // ======= Reading =======
+
+
+   /**
+    * Get type and direction of a predicate.
+    * @param label The entry in the parsed file, e.g., "comparative.05"
+    * @return Type and direction coded in the label.
+    * @throws IllegalArgumentException If the label has no sense after a '.'.
+    */
+   public static Sense decode (String label) {
+      Sense sense = cache.get(label);
+      if (sense == null) {
+         sense = parse(label);
+         if (cache.size() < MAX_CACHE_SIZE)
+            cache.put(label, sense);
+      }
+      return sense;
+   }
+
+
+   /**
+    * Parse a label (the part after the first '.' up to the next '.').
+    */
+   private static Sense parse (String label) {
+      int begin = label.indexOf('.') + 1;
+      if (begin == 0 || begin == label.length())
+         throw new IllegalArgumentException("Predicate label without sense: " + label);
+      int end = label.indexOf('.', begin);
+      String code = end < 0 ? label.substring(begin) : label.substring(begin, end);
+      return senses[getType(code).ordinal()][getDirection(code).ordinal()];
+   }
+
+
+   private static PredicateType getType (String code) {
+      if (code.equals("01") || code.equals("05"))
+         return PredicateType.ranked;
+      if (code.equals("02"))
+         return PredicateType.equative;
+      if (code.equals("03") || code.equals("06"))
+         return PredicateType.superlative;
+      if (code.equals("04"))
+         return PredicateType.difference;
+      return PredicateType.undefined;
+   }
+
+
+   private static PredicateDirection getDirection (String code) {
+      if (code.equals("05") || code.equals("06"))
+         return PredicateDirection.INFERIOR;
+      if (code.equals("01") || code.equals("03"))
+         return PredicateDirection.SUPERIOR;
+      return PredicateDirection.UNDEFINED;
+   }
+
+
+   // ======= Writing =======
+
+
+   /**
+    * Get the sense of a type and direction.
+    * Note that the direction of the sense is the one that can be written
+    * (e.g., equative is always UNDEFINED).
+    * @param type Type of the comparison (null = undefined).
+    * @param direction Direction of the comparison (null = undefined).
+    * @return The sense.
+    */
+   public static Sense getSense (PredicateType type, PredicateDirection direction) {
+      if (type == null)
+         type = PredicateType.undefined;
+      if (direction == null)
+         direction = PredicateDirection.UNDEFINED;
+      return senses[type.ordinal()][direction.ordinal()];
+   }
+
+
+   /**
+    * Label of a type and direction.
+    * @param type Type of the comparison.
+    * @param direction Direction of the comparison.
+    * @return Label to write in a file, e.g., "comparative.05".
+    */
+   public static String encode (PredicateType type, PredicateDirection direction) {
+      return getSense(type, direction).getLabel();
+   }
+
+}
@@ -76,23 +76,11 @@ public enum PredicateType {
     * 05 = ranked inferior,
     * 06 = superlative inferior.
     *  
-    * @param name The entry in the parsed file, e.g., "05"
-    * @return Direction of the comparison as coded in the type.
+    * @param name The entry in the parsed file, e.g., "comparative.05"
+    * @return Type of the comparison as coded in the label.
     */
    public static PredicateType getTypeFromString (String name) {
-      String[] parts = name.split("\\.");
-      String type = parts[1];
-      
-      if (type.equals("01") || type.equals("05"))
-         return ranked;
-      if (type.equals("02"))
-         return equative;
-      if (type.equals("03") || type.equals("06"))
-         return superlative;
-      if(type.equals("04"))
-         return difference;
-      
-      return undefined;
+      return PredicateSenseCodec.decode(name).getType();
    }
 
 
@@ -251,6 +251,20 @@ public class SRLSentence extends Sentence {
     * @return CoNLL representation (see Word.toCoNLLString) + predicate-argument info
     */
    public String wordToCoNLLString(Word word) {
+      return wordToCoNLLString(word, ArgumentLabelCodec.getDefault());
+   }
+
+
+   /**
+    * CoNLL representation of a word from this sentence.
+    * Includes columns for predicate and argument annotations,
+    * arguments are written with the labels of the codec.
+    * 
+    * @param word A word in the sentence.
+    * @param codec Labels of the arguments.
+    * @return CoNLL representation (see Word.toCoNLLString) + predicate-argument info
+    */
+   public String wordToCoNLLString(Word word, ArgumentLabelCodec codec) {
       
       // Simple word information
       String str = word.toCoNLLString();
@@ -266,7 +280,7 @@ public class SRLSentence extends Sentence {
       for (Word predicate : this.getPredicates()) {
          ArgumentType relation = this.getRelation(predicate, word);
          if (relation != null) {
-            str = str +"\t"+relation.getMappedString();
+            str = str +"\t"+codec.encode(relation);
          } else {
             str = str +"\t"+"_";
          }
@@ -0,0 +1,337 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.nlp;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uni_stuttgart.ims.nlpbase.nlp.POSUtils.POSCategory;
+
+
+/**
+ * Mapping from the tags of one tagset to our POS categories.
+ *
+ * The mapping is compiled into a small hash table (open addressing)
+ * when it is created, looking up a tag needs no list scans.
+ * Every tag gets a number (id), 0 is used for unknown tags (category OTHER).
+ * A mapping cannot be changed after it is created, so one mapping
+ * can be used by many threads and different readers can use different tagsets
+ * at the same time (see 'ParseReaderCoNLL.setTagsetMapping').
+ *
+ * Mappings can be read from a file with one line per category:
+ * <pre>
+ * # comment
+ * NOUN        NN NNS NNP NNPS
+ * ADJECTIVE   JJ JJR JJS
+ * </pre>
+ * The first column is the name of the POSCategory, the rest are the tags
+ * (separated by whitespace). Tags that occur in several lines
+ * belong to the first category.
+ *
+ * @author kesslewd
+ */
+public final class TagsetMapping {
+
+   /**
+    * Penn Treebank tagset (default of POSUtils).
+    */
+   public static final TagsetMapping PENN_TREEBANK = new Builder("Penn Treebank")
+         .add(POSCategory.NOUN, "NN", "NNP", "NNPS", "NNS")
+         .add(POSCategory.PRONOUN, "PRP", "PRP$", "WP", "WP$")
+         .add(POSCategory.ADJECTIVE, "JJ", "JJR", "JJS")
+         .add(POSCategory.ADVERB, "RB", "RBR", "RBS", "WRB")
+         .add(POSCategory.VERB, "MD", "VB", "VBD", "VBG", "VBN", "VBP", "VBZ")
+         .add(POSCategory.PREPOSITION, "IN", "POS", "RP", "TO")
+         .add(POSCategory.DETERMINER, "DT", "WDT", "PDT", "EX")
+         .add(POSCategory.CONJUNCTION, "CC")
+         .add(POSCategory.NUMBER, "CD")
+         .add(POSCategory.PUNCTUATION,
+               ".", ",", ";", ":", "!", "?", // sentence punctuation
+               "-lrb-", "-rrb-", "[", "]", "(", ")", // parenthesis
+               "\"", "`", "'", // quotes
+               "-", "--", "*", "/", "\\", "$") // other
+         .build();
+
+   /**
+    * Universal Dependencies part-of-speech tags (UPOS).
+    */
+   public static final TagsetMapping UNIVERSAL_DEPENDENCIES = new Builder("Universal Dependencies")
+         .add(POSCategory.NOUN, "NOUN", "PROPN")
+         .add(POSCategory.PRONOUN, "PRON")
+         .add(POSCategory.ADJECTIVE, "ADJ")
+         .add(POSCategory.ADVERB, "ADV")
+         .add(POSCategory.VERB, "VERB", "AUX")
+         .add(POSCategory.PREPOSITION, "ADP", "PART")
+         .add(POSCategory.DETERMINER, "DET")
+         .add(POSCategory.CONJUNCTION, "CCONJ", "SCONJ", "CONJ")
+         .add(POSCategory.NUMBER, "NUM")
+         .add(POSCategory.PUNCTUATION, "PUNCT", "SYM")
+         .build();
+
+   /**
+    * German Stuttgart-Tuebingen tagset (STTS).
+    * Like in the Penn Treebank, subordinating conjunctions and
+    * particles are prepositions, the negation particle is an adverb.
+    */
+   public static final TagsetMapping STTS = new Builder("STTS")
+         .add(POSCategory.NOUN, "NN", "NE")
+         .add(POSCategory.PRONOUN, "PPER", "PRF", "PPOSS", "PPOSAT", "PDS", "PIS", "PRELS", "PWS")
+         .add(POSCategory.ADJECTIVE, "ADJA", "ADJD")
+         .add(POSCategory.ADVERB, "ADV", "PWAV", "PAV", "PROAV", "PTKNEG", "PTKA")
+         .add(POSCategory.VERB, "VVFIN", "VVIMP", "VVINF", "VVIZU", "VVPP",
+               "VAFIN", "VAIMP", "VAINF", "VAPP", "VMFIN", "VMINF", "VMPP")
+         .add(POSCategory.PREPOSITION, "APPR", "APPRART", "APPO", "APZR", "KOUI", "KOUS", "PTKZU", "PTKVZ")
+         .add(POSCategory.DETERMINER, "ART", "PDAT", "PIAT", "PIDAT", "PRELAT", "PWAT")
+         .add(POSCategory.CONJUNCTION, "KON", "KOKOM")
+         .add(POSCategory.NUMBER, "CARD")
+         .add(POSCategory.PUNCTUATION, "$.", "$,", "$(")
+         .build();
+
+
+   private final String name;
+
+   /**
+    * Hash table: tag in each slot (null = empty slot).
+    */
+   private final String[] slotTags;
+
+   /**
+    * Hash table: id of the tag in each slot.
+    */
+   private final int[] slotIds;
+
+   /**
+    * Category of each id (id 0 is OTHER).
+    */
+   private final POSCategory[] categories;
+
+   /**
+    * Tag of each id (id 0 is null).
+    */
+   private final String[] tags;
+
+
+   /**
+    * Compile a mapping.
+    * @param name Name of the tagset.
+    * @param mapping Tags of each category (a tag that is in several lists
+    *    belongs to the first category).
+    */
+   private TagsetMapping (String name, Map<POSCategory, List<String>> mapping) {
+      this.name = name;
+
+      List<String> tagList = new ArrayList<String>();
+      List<POSCategory> categoryList = new ArrayList<POSCategory>();
+      tagList.add(null);
+      categoryList.add(POSCategory.OTHER);
+
+      int capacity = 4;
+      for (List<String> list : mapping.values())
+         capacity += list.size();
+      capacity = Integer.highestOneBit(capacity) * 4; // at most half full
+      this.slotTags = new String[capacity];
+      this.slotIds = new int[capacity];
+
+      for (Map.Entry<POSCategory, List<String>> entry : mapping.entrySet()) {
+         for (String tag : entry.getValue()) {
+            int slot = findSlot(tag);
+            if (slotTags[slot] == null) {
+               slotTags[slot] = tag;
+               slotIds[slot] = tagList.size();
+               tagList.add(tag);
+               categoryList.add(entry.getKey());
+            }
+         }
+      }
+      this.tags = tagList.toArray(new String[tagList.size()]);
+      this.categories = categoryList.toArray(new POSCategory[categoryList.size()]);
+   }
+
+
+   /**
+    * Slot of the tag in the hash table or the empty slot where it would go.
+    */
+   private int findSlot (String tag) {
+      int mask = slotTags.length - 1;
+      int hash = tag.hashCode();
+      int slot = (hash ^ (hash >>> 16)) & mask;
+      while (slotTags[slot] != null && !slotTags[slot].equals(tag)) {
+         slot = (slot + 1) & mask;
+      }
+      return slot;
+   }
+
+
+   // ======= Creating mappings =======
+
+
+   /**
+    * Create a mapping.
+    * @param name Name of the tagset.
+    * @param mapping Tags of each category.
+    * @return The compiled mapping (the map is not used afterwards).
+    */
+   public static TagsetMapping create (String name, Map<POSCategory, List<String>> mapping) {
+      return new TagsetMapping(name, mapping);
+   }
+
+
+   /**
+    * Read a mapping from a file (UTF-8, format see above).
+    * @param fileName Location of the file, also used as name of the tagset.
+    * @return The compiled mapping.
+    * @throws IOException If the file cannot be read or a line has an unknown category.
+    */
+   public static TagsetMapping load (String fileName) throws IOException {
+      BufferedReader reader = new BufferedReader(
+            new InputStreamReader(new FileInputStream(fileName), Charset.forName("UTF-8")));
+      try {
+         Builder builder = new Builder(fileName);
+         String line;
+         int lineno = 0;
+         while ((line = reader.readLine()) != null) {
+            lineno++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#"))
+               continue;
+            String[] parts = line.split("\\s+");
+            POSCategory category;
+            try {
+               category = POSCategory.valueOf(parts[0].toUpperCase());
+            } catch (IllegalArgumentException e) {
+               throw new IOException("Unknown POS category '" + parts[0] + "' in " + fileName + " line " + lineno);
+            }
+            String[] tagsOfLine = new String[parts.length-1];
+            System.arraycopy(parts, 1, tagsOfLine, 0, tagsOfLine.length);
+            builder.add(category, tagsOfLine);
+         }
+         return builder.build();
+      } finally {
+         reader.close();
+      }
+   }
+
+
+   /**
+    * Collects the tags of each category.
+    */
+   private static class Builder {
+      private final String name;
+      private final Map<POSCategory, List<String>> mapping = new LinkedHashMap<POSCategory, List<String>>();
+
+      Builder (String name) {
+         this.name = name;
+      }
+
+      Builder add (POSCategory category, String... tagsOfCategory) {
+         List<String> list = mapping.get(category);
+         if (list == null) {
+            list = new ArrayList<String>();
+            mapping.put(category, list);
+         }
+         for (String tag : tagsOfCategory)
+            list.add(tag);
+         return this;
+      }
+
+      TagsetMapping build () {
+         return new TagsetMapping(name, mapping);
+      }
+   }
+
+
+   // ======= Lookup =======
+
+
+   /**
+    * @return Name of the tagset.
+    */
+   public String getName () {
+      return name;
+   }
+
+
+   /**
+    * @return Number of ids (number of tags + 1 for unknown tags).
+    */
+   public int size () {
+      return tags.length;
+   }
+
+
+   /**
+    * Get the number of a tag.
+    * @param pos Part-of-speech tag.
+    * @return Number of the tag (0 if it is not in the mapping or null).
+    */
+   public int getId (String pos) {
+      if (pos == null)
+         return 0;
+      int slot = findSlot(pos);
+      return slotTags[slot] == null ? 0 : slotIds[slot];
+   }
+
+
+   /**
+    * @param id Number of a tag.
+    * @return Category of the tag.
+    */
+   public POSCategory getCategory (int id) {
+      return categories[id];
+   }
+
+
+   /**
+    * @param id Number of a tag.
+    * @return The tag (null for 0).
+    */
+   public String getTag (int id) {
+      return tags[id];
+   }
+
+
+   /**
+    * Returns the POS category of the given POS.
+    * @param pos Part-of-speech tag.
+    * @return POS Category (null for null or empty string, 'OTHER' if the tag is unknown).
+    */
+   public POSCategory getCategory (String pos) {
+      if (pos == null || pos.isEmpty())
+         return null;
+      return categories[getId(pos)];
+   }
+
+
+   /**
+    * Tags of a category.
+    * @param category A category.
+    * @return The tags in the order they were defined.
+    */
+   public List<String> getTags (POSCategory category) {
+      List<String> result = new ArrayList<String>();
+      for (int id=1; id<tags.length; id++) {
+         if (categories[id] == category)
+            result.add(tags[id]);
+      }
+      return result;
+   }
+
+
+   @Override
+   public String toString () {
+      return "TagsetMapping " + name + " (" + (tags.length-1) + " tags)";
+   }
+
+}
@@ -25,6 +25,7 @@ public class Word {
    private String form;
    private String lemma;
    private String pos;
+   private POSUtils.POSCategory posCategory; // from pos, set on first use
    private String deprel;
    
    private int headID;
@@ -73,6 +74,7 @@ public class Word {
       this.form=otherWord.form;
       this.lemma=otherWord.lemma;
       this.pos=otherWord.pos;
+      this.posCategory=otherWord.posCategory;
       this.deprel = otherWord.deprel;
       this.headID=otherWord.headID;
    }
@@ -101,6 +103,32 @@ public class Word {
    public void setID (int id) {
       this.id = id;
    }
+   public void setPOS (String pos) {
+      this.pos = pos;
+      this.posCategory = null;
+   }
+
+   /**
+    * Set the POS together with its category
+    * (for a POS that is not from the Penn Treebank tagset, see TagsetMapping).
+    * @param pos Part-of-speech of the word.
+    * @param category Category of the POS.
+    */
+   public void setPOS (String pos, POSUtils.POSCategory category) {
+      this.pos = pos;
+      this.posCategory = category;
+   }
+
+   /**
+    * Category of the POS, computed only once per word
+    * (with POSUtils, unless set with the POS).
+    * @return POS category (null if there is no POS, see POSUtils.getPOSCategory).
+    */
+   public POSUtils.POSCategory getPOSCategory () {
+      if (posCategory == null)
+         posCategory = POSUtils.getPOSCategory(pos);
+      return posCategory;
+   }
    
 
    /*
@@ -155,8 +183,11 @@ public class Word {
    public PredicateDirection getDirection() {
       return direction;
    }
+   /**
+    * @return Sense of the predicate as written in a file, e.g., "comparative.05".
+    */
    public String getPredicateAnnotation() {
-      return "comparative.01"; // TODO!!!
+      return PredicateSenseCodec.encode(type, direction);
    }
    
    
@@ -0,0 +1,312 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.nlp;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Character classes and word shapes
+ * (capitalization, digits, punctuation) of word forms.
+ *
+ * The class of each character of the Basic Multilingual Plane is
+ * looked up in a table, other characters are classified with the
+ * methods of Character.
+ *
+ * The shape of a word is packed into one long:
+ * the lowest 8 bits are flags (see HAS_UPPERCASE etc.),
+ * the rest is the sequence of character classes, where repeated classes
+ * are only counted once ("Mr." = "Xxp", "1,000" = "dpd").
+ * Shapes of words with the same pattern are equal, so they can be used
+ * as features directly. Computing a shape creates no objects.
+ *
+ * @author kesslewd
+ */
+public final class WordShape {
+
+   // Character classes
+   public static final int OTHER = 0;
+   public static final int UPPERCASE = 1;
+   public static final int LOWERCASE = 2;
+   /** Letter without case (e.g., Chinese, Arabic). */
+   public static final int LETTER = 3;
+   public static final int DIGIT = 4;
+   /** Punctuation character, see 'isPunctuationWord'. */
+   public static final int PUNCTUATION = 5;
+   public static final int SPACE = 6;
+
+   /**
+    * Symbols for the classes in 'shapeToString'.
+    */
+   private static final char[] SYMBOLS = {'o', 'X', 'x', 'l', 'd', 'p', ' '};
+
+   // Flags of a shape
+   public static final int HAS_UPPERCASE = 1;
+   public static final int HAS_LOWERCASE = 1 << 1;
+   public static final int HAS_DIGIT = 1 << 2;
+   public static final int HAS_PUNCTUATION = 1 << 3;
+   /** Has a character that is not an uppercase/lowercase letter, digit or punctuation. */
+   public static final int HAS_OTHER = 1 << 4;
+   /** First character is uppercase. */
+   public static final int INITIAL_UPPERCASE = 1 << 5;
+   /** All letters are uppercase (and there is at least one). */
+   public static final int ALL_UPPERCASE = 1 << 6;
+   /** The shape is longer than can be stored, the end of the word is missing. */
+   public static final int TRUNCATED = 1 << 7;
+
+   private static final int FLAG_BITS = 8;
+   private static final int CLASS_BITS = 3;
+   private static final int MAX_CLASSES = (64 - FLAG_BITS) / CLASS_BITS;
+
+   /**
+    * Punctuation characters.
+    */
+   private static final String punctuationChars =
+         ".,;:!?" // sentence punctuation
+         + "()[]" // parenthesis
+         + "'`\"" // quotes
+         + "-*/\\"; // other
+
+   /**
+    * Class of each character in the Basic Multilingual Plane.
+    */
+   private static final byte[] classes = new byte[Character.MAX_VALUE + 1];
+
+   static {
+      for (int c=0; c<classes.length; c++) {
+         classes[c] = (byte) classify(c);
+      }
+   }
+
+
+   private WordShape () {
+   }
+
+
+   /**
+    * Find the class of a character (used to fill the table).
+    */
+   private static int classify (int codePoint) {
+      if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT && punctuationChars.indexOf(codePoint) >= 0)
+         return PUNCTUATION;
+      if (Character.isUpperCase(codePoint) || Character.isTitleCase(codePoint))
+         return UPPERCASE;
+      if (Character.isLowerCase(codePoint))
+         return LOWERCASE;
+      if (Character.isLetter(codePoint))
+         return LETTER;
+      if (Character.isDigit(codePoint))
+         return DIGIT;
+      if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint))
+         return SPACE;
+      return OTHER;
+   }
+
+
+   // ======= Characters =======
+
+
+   /**
+    * @param codePoint A Unicode character.
+    * @return Class of the character (UPPERCASE, LOWERCASE, ...).
+    */
+   public static int getCharacterClass (int codePoint) {
+      if (codePoint >= 0 && codePoint < classes.length)
+         return classes[codePoint];
+      return classify(codePoint);
+   }
+
+
+   /**
+    * Checks if a word is punctuation (dot, comma, parenthesis, ...).
+    *
+    * @param word The word to check (check surface form).
+    * @return true if the word contains no non-punctuation char,
+    *    false in every other case (including null, empty String, ROOT)
+    */
+   public static boolean isPunctuationWord (CharSequence word) {
+      if (word == null || word.length() == 0)
+         return false;
+      for (int i=0; i<word.length(); i++) {
+         if (classes[word.charAt(i)] != PUNCTUATION)
+            return false;
+      }
+      return true;
+   }
+
+
+   // ======= Shapes =======
+
+
+   /**
+    * Compute the shape of a word form in one pass.
+    * @param form The word form.
+    * @return The shape (0 for null or empty String).
+    */
+   public static long getShape (CharSequence form) {
+      if (form == null)
+         return 0;
+      int flags = ALL_UPPERCASE;
+      long sequence = 0;
+      int count = 0;
+      int last = -1;
+      int length = form.length();
+      for (int i=0; i<length; i++) {
+         char c = form.charAt(i);
+         int cls;
+         if (Character.isHighSurrogate(c) && i+1 < length && Character.isLowSurrogate(form.charAt(i+1))) {
+            cls = classify(Character.toCodePoint(c, form.charAt(i+1)));
+            i++;
+         } else {
+            cls = classes[c];
+         }
+
+         switch (cls) {
+         case UPPERCASE:
+            flags |= HAS_UPPERCASE;
+            if (count == 0)
+               flags |= INITIAL_UPPERCASE;
+            break;
+         case LOWERCASE:
+            flags = (flags | HAS_LOWERCASE) & ~ALL_UPPERCASE;
+            break;
+         case DIGIT:
+            flags |= HAS_DIGIT;
+            break;
+         case PUNCTUATION:
+            flags |= HAS_PUNCTUATION;
+            break;
+         default:
+            flags |= HAS_OTHER;
+         }
+
+         if (cls != last) {
+            if (count < MAX_CLASSES) {
+               sequence |= (long) (cls + 1) << (FLAG_BITS + CLASS_BITS * count);
+            } else {
+               flags |= TRUNCATED;
+            }
+            count++;
+            last = cls;
+         }
+      }
+      if ((flags & HAS_UPPERCASE) == 0)
+         flags &= ~ALL_UPPERCASE;
+      return sequence | flags;
+   }
+
+
+   /**
+    * Compute the shape of the form of a word.
+    * @param word A word.
+    * @return The shape.
+    */
+   public static long getShape (Word word) {
+      return getShape(word.getForm());
+   }
+
+
+   /**
+    * @param shape A shape.
+    * @return The flags of the shape (HAS_UPPERCASE etc.).
+    */
+   public static int getFlags (long shape) {
+      return (int) (shape & ((1 << FLAG_BITS) - 1));
+   }
+
+
+   /**
+    * @param shape A shape.
+    * @param flag One flag or several combined with '|'.
+    * @return TRUE if the shape has all these flags.
+    */
+   public static boolean hasFlags (long shape, int flag) {
+      return (shape & flag) == flag;
+   }
+
+
+   /**
+    * Readable version of the shape, e.g. "Xx" for "Stuttgart", "dpd" for "1,000"
+    * ('X' uppercase, 'x' lowercase, 'l' letter without case, 'd' digit, 'p' punctuation,
+    * 'o' other). Ends with "..." if the shape was truncated.
+    * @param shape A shape.
+    * @return The sequence of character classes.
+    */
+   public static String shapeToString (long shape) {
+      StringBuilder result = new StringBuilder();
+      for (int i=0; i<MAX_CLASSES; i++) {
+         int cls = (int) ((shape >>> (FLAG_BITS + CLASS_BITS * i)) & ((1 << CLASS_BITS) - 1));
+         if (cls == 0)
+            break;
+         result.append(SYMBOLS[cls - 1]);
+      }
+      if (hasFlags(shape, TRUNCATED))
+         result.append("...");
+      return result.toString();
+   }
+
+
+   /**
+    * Remembers the shapes of word forms, so the shape of frequent
+    * forms is only computed once.
+    * Can be used by several threads at once.
+    */
+   public static class ShapeCache {
+
+      private final ConcurrentHashMap<String, Long> shapes = new ConcurrentHashMap<String, Long>();
+      private final int maxSize;
+
+      /**
+       * Create a cache.
+       * @param maxSize Maximum number of forms, when it is full,
+       *    the shapes of new forms are computed every time.
+       */
+      public ShapeCache (int maxSize) {
+         this.maxSize = maxSize;
+      }
+
+      /**
+       * @param form The word form.
+       * @return The shape.
+       */
+      public long getShape (String form) {
+         if (form == null)
+            return 0;
+         Long shape = shapes.get(form);
+         if (shape == null) {
+            shape = WordShape.getShape(form);
+            if (shapes.size() < maxSize)
+               shapes.put(form, shape);
+         }
+         return shape;
+      }
+
+      /**
+       * @param word A word.
+       * @return The shape of its form.
+       */
+      public long getShape (Word word) {
+         return getShape(word.getForm());
+      }
+
+      /**
+       * @return Number of forms in the cache.
+       */
+      public int size () {
+         return shapes.size();
+      }
+
+      /**
+       * Remove all forms.
+       */
+      public void clear () {
+         shapes.clear();
+      }
+   }
+
+}
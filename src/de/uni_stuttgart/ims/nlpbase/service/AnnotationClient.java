@@ -0,0 +1,263 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import de.uni_stuttgart.ims.nlpbase.tools.TextSpan;
+
+
+/**
+ * Sends requests to an AnnotationServer on this computer.
+ *
+ * Can be used by several threads at once, every thread gets its own
+ * connection (connections are kept open and reused).
+ * Requests from different threads are tagged together by the server.
+ *
+ * @author kesslewd
+ */
+public class AnnotationClient implements Closeable {
+
+   private final InetAddress address;
+   private final int port;
+
+   /**
+    * Connections that are currently not in use.
+    */
+   private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<Connection>();
+
+   private volatile boolean closed = false;
+
+
+   /**
+    * Connect to a server on this computer.
+    * @param port Port of the server.
+    * @throws IOException If the server cannot be reached.
+    */
+   public AnnotationClient (int port) throws IOException {
+      this.address = InetAddress.getByName(null);
+      this.port = port;
+      release(new Connection()); // fail early if there is no server
+   }
+
+
+   // ======= Requests =======
+
+
+   /**
+    * Split a text into sentences.
+    * @param document The text of the whole document.
+    * @return List of spans with the start/end positions of each sentence.
+    * @throws IOException If the server cannot be reached or reports an error.
+    */
+   public TextSpan[] split (final String document) throws IOException {
+      return send(new Request<TextSpan[]>() {
+         @Override
+         void write (DataOutputStream out) throws IOException {
+            out.writeByte(AnnotationProtocol.SPLIT);
+            AnnotationProtocol.writeString(out, document);
+         }
+         @Override
+         TextSpan[] read (DataInputStream in) throws IOException {
+            return AnnotationProtocol.readSpans(in);
+         }
+      });
+   }
+
+
+   /**
+    * Split one sentence into tokens.
+    * @param sentence The sentence.
+    * @return List of spans with the start/end positions of each token and the token.
+    * @throws IOException If the server cannot be reached or reports an error.
+    */
+   public TextSpan[] tokenize (final String sentence) throws IOException {
+      return send(new Request<TextSpan[]>() {
+         @Override
+         void write (DataOutputStream out) throws IOException {
+            out.writeByte(AnnotationProtocol.TOKENIZE);
+            AnnotationProtocol.writeString(out, sentence);
+         }
+         @Override
+         TextSpan[] read (DataInputStream in) throws IOException {
+            return AnnotationProtocol.readSpans(in);
+         }
+      });
+   }
+
+
+   /**
+    * Tag a list of tokens.
+    * @param tokenlist A list of tokens to be tagged.
+    * @return List of POS tags assigned to the tokens.
+    * @throws IOException If the server cannot be reached or reports an error.
+    */
+   public String[] tag (final String[] tokenlist) throws IOException {
+      return send(new Request<String[]>() {
+         @Override
+         void write (DataOutputStream out) throws IOException {
+            out.writeByte(AnnotationProtocol.TAG);
+            AnnotationProtocol.writeStrings(out, tokenlist);
+         }
+         @Override
+         String[] read (DataInputStream in) throws IOException {
+            return AnnotationProtocol.readStrings(in);
+         }
+      });
+   }
+
+
+   /**
+    * Tag several lists of tokens with one request.
+    * @param tokenlists Lists of tokens to be tagged (one list per sentence).
+    * @return List of POS tags for each list of tokens, in the same order.
+    * @throws IOException If the server cannot be reached or reports an error.
+    */
+   public List<String[]> tag (final List<String[]> tokenlists) throws IOException {
+      return send(new Request<List<String[]>>() {
+         @Override
+         void write (DataOutputStream out) throws IOException {
+            out.writeByte(AnnotationProtocol.TAG_MANY);
+            AnnotationProtocol.writeStringLists(out, tokenlists);
+         }
+         @Override
+         List<String[]> read (DataInputStream in) throws IOException {
+            return AnnotationProtocol.readStringLists(in);
+         }
+      });
+   }
+
+
+   /**
+    * Split, tokenize and tag a text.
+    * @param document The text of the whole document.
+    * @return CoNLL lines of all sentences (as written by ParseWriterCoNLL).
+    * @throws IOException If the server cannot be reached or reports an error.
+    */
+   public String annotate (final String document) throws IOException {
+      return send(new Request<String>() {
+         @Override
+         void write (DataOutputStream out) throws IOException {
+            out.writeByte(AnnotationProtocol.ANNOTATE);
+            AnnotationProtocol.writeString(out, document);
+         }
+         @Override
+         String read (DataInputStream in) throws IOException {
+            return AnnotationProtocol.readString(in);
+         }
+      });
+   }
+
+
+   /**
+    * Send a request on a free connection and read the response.
+    * If the server reports an error, the connection is still used later,
+    * otherwise it is closed after an error.
+    */
+   private <T> T send (Request<T> request) throws IOException {
+      Connection connection = acquire();
+      boolean usable = false;
+      try {
+         request.write(connection.out);
+         connection.out.flush();
+         if (connection.in.readByte() != AnnotationProtocol.OK) {
+            String message = AnnotationProtocol.readString(connection.in);
+            usable = true;
+            throw new IOException("Error in annotation server: " + message);
+         }
+         T result = request.read(connection.in);
+         usable = true;
+         return result;
+      } finally {
+         if (usable)
+            release(connection);
+         else
+            connection.close();
+      }
+   }
+
+
+   /**
+    * Writes one type of request and reads its response.
+    */
+   private abstract static class Request<T> {
+      abstract void write (DataOutputStream out) throws IOException;
+      abstract T read (DataInputStream in) throws IOException;
+   }
+
+
+   // ======= Connections =======
+
+
+   private Connection acquire () throws IOException {
+      if (closed)
+         throw new IOException("Client is closed");
+      Connection connection = idle.poll();
+      return connection != null ? connection : new Connection();
+   }
+
+
+   private void release (Connection connection) {
+      idle.add(connection);
+      if (closed) // closed while in use
+         closeIdle();
+   }
+
+
+   private void closeIdle () {
+      for (Connection connection = idle.poll(); connection != null; connection = idle.poll()) {
+         connection.close();
+      }
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Close all connections (connections in use are closed when the request is done).
+    */
+   @Override
+   public void close () {
+      closed = true;
+      closeIdle();
+   }
+
+
+   /**
+    * One connection to the server.
+    */
+   private class Connection {
+      final Socket socket;
+      final DataInputStream in;
+      final DataOutputStream out;
+
+      Connection () throws IOException {
+         socket = new Socket(address, port);
+         socket.setTcpNoDelay(true);
+         in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+         out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      }
+
+      void close () {
+         try {
+            socket.close();
+         } catch (IOException e) {
+            e.printStackTrace();
+         }
+      }
+   }
+
+}
@@ -0,0 +1,147 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uni_stuttgart.ims.nlpbase.tools.TextSpan;
+
+
+/**
+ * Binary messages between AnnotationServer and AnnotationClient.
+ *
+ * A request is one byte with the type of request and its data,
+ * a response is one byte with the status (OK / ERROR) and its data
+ * (or an error message).
+ * Strings are sent as length in bytes + UTF-8 bytes,
+ * arrays as length + elements.
+ * Lengths are checked before anything is allocated
+ * (at most MAX_BYTES for a string, MAX_ELEMENTS for an array).
+ *
+ * <pre>
+ * SPLIT     text            -&gt; spans (begin, end, covered text)
+ * TOKENIZE  sentence        -&gt; spans (begin, end, token)
+ * TAG       tokens          -&gt; tags
+ * TAG_MANY  list of tokens  -&gt; list of tags
+ * ANNOTATE  text            -&gt; CoNLL lines (split, tokenize, tag)
+ * </pre>
+ *
+ * @author kesslewd
+ */
+final class AnnotationProtocol {
+
+   static final byte SPLIT = 1;
+   static final byte TOKENIZE = 2;
+   static final byte TAG = 3;
+   static final byte TAG_MANY = 4;
+   static final byte ANNOTATE = 5;
+
+   static final byte OK = 0;
+   static final byte ERROR = 1;
+
+   /**
+    * Maximum length of a string in bytes.
+    */
+   static final int MAX_BYTES = 1 << 26;
+
+   /**
+    * Maximum number of elements of an array.
+    */
+   static final int MAX_ELEMENTS = 1 << 20;
+
+   private static final Charset UTF8 = Charset.forName("UTF-8");
+
+
+   private AnnotationProtocol () {
+   }
+
+
+   static void writeString (DataOutputStream out, String string) throws IOException {
+      byte[] bytes = string.getBytes(UTF8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+   }
+
+   static String readString (DataInputStream in) throws IOException {
+      byte[] bytes = new byte[readLength(in, MAX_BYTES)];
+      in.readFully(bytes);
+      return new String(bytes, UTF8);
+   }
+
+
+   static void writeStrings (DataOutputStream out, String[] strings) throws IOException {
+      out.writeInt(strings.length);
+      for (String string : strings) {
+         writeString(out, string);
+      }
+   }
+
+   static String[] readStrings (DataInputStream in) throws IOException {
+      String[] strings = new String[readLength(in, MAX_ELEMENTS)];
+      for (int i=0; i<strings.length; i++) {
+         strings[i] = readString(in);
+      }
+      return strings;
+   }
+
+
+   static void writeStringLists (DataOutputStream out, List<String[]> lists) throws IOException {
+      out.writeInt(lists.size());
+      for (String[] strings : lists) {
+         writeStrings(out, strings);
+      }
+   }
+
+   static List<String[]> readStringLists (DataInputStream in) throws IOException {
+      int size = readLength(in, MAX_ELEMENTS);
+      List<String[]> lists = new ArrayList<String[]>(size);
+      for (int i=0; i<size; i++) {
+         lists.add(readStrings(in));
+      }
+      return lists;
+   }
+
+
+   static void writeSpans (DataOutputStream out, TextSpan[] spans) throws IOException {
+      out.writeInt(spans.length);
+      for (TextSpan span : spans) {
+         out.writeInt(span.begin);
+         out.writeInt(span.end);
+         out.writeBoolean(span.coveredText != null);
+         if (span.coveredText != null)
+            writeString(out, span.coveredText);
+      }
+   }
+
+   static TextSpan[] readSpans (DataInputStream in) throws IOException {
+      TextSpan[] spans = new TextSpan[readLength(in, MAX_ELEMENTS)];
+      for (int i=0; i<spans.length; i++) {
+         int begin = in.readInt();
+         int end = in.readInt();
+         spans[i] = new TextSpan(begin, end, in.readBoolean() ? readString(in) : null);
+      }
+      return spans;
+   }
+
+
+   /**
+    * Read a length, the other side cannot make us allocate arbitrary amounts of memory.
+    */
+   private static int readLength (DataInputStream in, int max) throws IOException {
+      int length = in.readInt();
+      if (length < 0 || length > max)
+         throw new IOException("Invalid length " + length + " (maximum " + max + ")");
+      return length;
+   }
+
+}
@@ -0,0 +1,575 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
+import de.uni_stuttgart.ims.nlpbase.nlp.Word;
+import de.uni_stuttgart.ims.nlpbase.tools.POSTagger;
+import de.uni_stuttgart.ims.nlpbase.tools.POSTaggerStanford;
+import de.uni_stuttgart.ims.nlpbase.tools.SentenceSplitter;
+import de.uni_stuttgart.ims.nlpbase.tools.SentenceSplitterOpenNLP;
+import de.uni_stuttgart.ims.nlpbase.tools.TextSpan;
+import de.uni_stuttgart.ims.nlpbase.tools.TokenizationResult;
+import de.uni_stuttgart.ims.nlpbase.tools.Tokenizer;
+import de.uni_stuttgart.ims.nlpbase.tools.TokenizerOpenNLP;
+import de.uni_stuttgart.ims.nlpbase.tools.ToolPool;
+import de.uni_stuttgart.ims.util.DaemonThreadFactory;
+
+
+/**
+ * Keeps sentence splitter, tokenizer and POS tagger loaded and
+ * answers requests from other programs on this computer
+ * (loopback socket, see AnnotationClient).
+ * So the models are loaded only once and not for every job.
+ *
+ * Every connection is handled by its own thread.
+ * Sentence splitting and tokenization use one of the given
+ * instances (one thread per instance at a time).
+ * Tagging requests from all connections are collected for a short time
+ * and tagged together as one batch ('POSTagger.getPOSTags(List)'),
+ * so the tagger must allow calls from several threads.
+ *
+ * The tools are not closed by the server.
+ *
+ * @author kesslewd
+ */
+public class AnnotationServer implements Closeable {
+
+   /**
+    * Port used by 'main' if none is given.
+    */
+   public static final int DEFAULT_PORT = 7531;
+
+   private final ToolPool<SentenceSplitter> splitters;
+   private final ToolPool<Tokenizer> tokenizers;
+   private final POSTagger tagger;
+
+   private final ServerSocket serverSocket;
+
+   /**
+    * One thread per connection.
+    */
+   private final ExecutorService connectionThreads;
+
+   /**
+    * Sockets of open connections (closed with the server).
+    */
+   private final Set<Socket> openSockets = Collections.synchronizedSet(
+         Collections.newSetFromMap(new IdentityHashMap<Socket, Boolean>()));
+
+   /**
+    * Tagging requests waiting for the next batch.
+    */
+   private final BlockingQueue<TagRequest> tagQueue = new LinkedBlockingQueue<TagRequest>();
+
+   private Thread acceptThread;
+   private Thread batchThread;
+   private volatile boolean closed = false;
+
+   private volatile int maxBatchSize = 256;
+   private volatile long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(2);
+
+   private final AtomicLong batches = new AtomicLong();
+   private final AtomicLong taggedSentences = new AtomicLong();
+
+
+   // ======= Initialization =======
+
+
+   /**
+    * Create a server on the loopback interface, call 'start' to accept connections.
+    * @param splitters Sentence splitters (one per thread).
+    * @param tokenizers Tokenizers (one per thread).
+    * @param tagger POS tagger that can be used by several threads at once.
+    * @param port Port to listen on (0 = any free port, see 'getPort').
+    * @throws IOException If the port cannot be used.
+    */
+   public AnnotationServer (SentenceSplitter[] splitters, Tokenizer[] tokenizers, POSTagger tagger, int port)
+         throws IOException {
+      this.splitters = new ToolPool<SentenceSplitter>(splitters);
+      this.tokenizers = new ToolPool<Tokenizer>(tokenizers);
+      this.tagger = tagger;
+      this.serverSocket = new ServerSocket(port, 50, InetAddress.getByName(null));
+      this.connectionThreads = Executors.newCachedThreadPool(new DaemonThreadFactory("annotation-connection"));
+   }
+
+
+   /**
+    * Set how tagging requests are combined.
+    * @param maxBatchSize Maximum number of sentences tagged together.
+    * @param maxDelayMillis Maximum time to wait for more requests
+    *    after the first one arrived (0 = only take what is already there).
+    */
+   public void setBatching (int maxBatchSize, long maxDelayMillis) {
+      this.maxBatchSize = Math.max(1, maxBatchSize);
+      this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxDelayMillis));
+   }
+
+
+   /**
+    * @return The port the server listens on.
+    */
+   public int getPort () {
+      return serverSocket.getLocalPort();
+   }
+
+
+   /**
+    * Start accepting connections (in background threads).
+    */
+   public synchronized void start () {
+      if (acceptThread != null)
+         return;
+      DaemonThreadFactory threads = new DaemonThreadFactory("annotation-server");
+      batchThread = threads.newThread(new Runnable() {
+         @Override
+         public void run() {
+            tagBatches();
+         }
+      });
+      acceptThread = threads.newThread(new Runnable() {
+         @Override
+         public void run() {
+            acceptConnections();
+         }
+      });
+      batchThread.start();
+      acceptThread.start();
+   }
+
+
+   // ======= Statistics =======
+
+
+   /**
+    * @return Number of batches tagged.
+    */
+   public long getBatches () {
+      return batches.get();
+   }
+
+   /**
+    * @return Number of sentences tagged.
+    */
+   public long getTaggedSentences () {
+      return taggedSentences.get();
+   }
+
+
+   // ======= Connections =======
+
+
+   private void acceptConnections () {
+      while (!closed) {
+         try {
+            final Socket socket = serverSocket.accept();
+            socket.setTcpNoDelay(true);
+            openSockets.add(socket);
+            connectionThreads.execute(new Runnable() {
+               @Override
+               public void run() {
+                  handleConnection(socket);
+               }
+            });
+         } catch (IOException e) {
+            if (!closed)
+               e.printStackTrace();
+         }
+      }
+   }
+
+
+   /**
+    * Answer requests from one client until it closes the connection.
+    */
+   private void handleConnection (Socket socket) {
+      try {
+         DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+         while (!closed) {
+            byte request;
+            try {
+               request = in.readByte();
+            } catch (EOFException e) {
+               break; // client is done
+            }
+            handleRequest(request, in, out);
+            out.flush();
+         }
+      } catch (SocketException e) {
+         // closed by client or server
+      } catch (IOException e) {
+         if (!closed)
+            e.printStackTrace();
+      } finally {
+         openSockets.remove(socket);
+         try {
+            socket.close();
+         } catch (IOException e) {
+            e.printStackTrace();
+         }
+      }
+   }
+
+
+   /**
+    * Read one request and write the response.
+    * The whole request is read before anything is done, so after
+    * an error in the tools the connection can still be used.
+    */
+   private void handleRequest (byte request, DataInputStream in, DataOutputStream out) throws IOException {
+      switch (request) {
+      case AnnotationProtocol.SPLIT: {
+         String text = AnnotationProtocol.readString(in);
+         try {
+            TextSpan[] spans = split(text);
+            out.writeByte(AnnotationProtocol.OK);
+            AnnotationProtocol.writeSpans(out, spans);
+         } catch (RuntimeException e) {
+            writeError(out, e);
+         }
+         break;
+      }
+      case AnnotationProtocol.TOKENIZE: {
+         String sentence = AnnotationProtocol.readString(in);
+         try {
+            TextSpan[] spans = tokenize(sentence);
+            out.writeByte(AnnotationProtocol.OK);
+            AnnotationProtocol.writeSpans(out, spans);
+         } catch (RuntimeException e) {
+            writeError(out, e);
+         }
+         break;
+      }
+      case AnnotationProtocol.TAG: {
+         String[] tokens = AnnotationProtocol.readStrings(in);
+         try {
+            String[] tags = tag(Collections.singletonList(tokens)).get(0);
+            out.writeByte(AnnotationProtocol.OK);
+            AnnotationProtocol.writeStrings(out, tags);
+         } catch (RuntimeException e) {
+            writeError(out, e);
+         }
+         break;
+      }
+      case AnnotationProtocol.TAG_MANY: {
+         List<String[]> tokenlists = AnnotationProtocol.readStringLists(in);
+         try {
+            List<String[]> tags = tag(tokenlists);
+            out.writeByte(AnnotationProtocol.OK);
+            AnnotationProtocol.writeStringLists(out, tags);
+         } catch (RuntimeException e) {
+            writeError(out, e);
+         }
+         break;
+      }
+      case AnnotationProtocol.ANNOTATE: {
+         String text = AnnotationProtocol.readString(in);
+         try {
+            String conll = annotate(text);
+            out.writeByte(AnnotationProtocol.OK);
+            AnnotationProtocol.writeString(out, conll);
+         } catch (RuntimeException e) {
+            writeError(out, e);
+         }
+         break;
+      }
+      default:
+         // rest of the request cannot be read
+         throw new IOException("Unknown request type " + request);
+      }
+   }
+
+
+   private void writeError (DataOutputStream out, RuntimeException e) throws IOException {
+      e.printStackTrace();
+      out.writeByte(AnnotationProtocol.ERROR);
+      AnnotationProtocol.writeString(out, String.valueOf(e));
+   }
+
+
+   // ======= Processing =======
+
+
+   private TextSpan[] split (String text) {
+      SentenceSplitter splitter = acquire(splitters);
+      try {
+         return splitter.split(text);
+      } finally {
+         splitters.release(splitter);
+      }
+   }
+
+
+   /**
+    * Tokenize a sentence, the spans always have the token as covered text
+    * (not all tokenizers set it in 'getTokenizationSpans').
+    */
+   private TextSpan[] tokenize (String sentence) {
+      Tokenizer tokenizer = acquire(tokenizers);
+      try {
+         return tokenizer.tokenize(sentence, new TokenizationResult()).toTextSpans();
+      } finally {
+         tokenizers.release(tokenizer);
+      }
+   }
+
+
+   /**
+    * Tag sentences together with the requests from other connections.
+    * @param tokenlists Tokens of each sentence.
+    * @return Tags of each sentence.
+    */
+   private List<String[]> tag (List<String[]> tokenlists) {
+      if (closed)
+         throw new IllegalStateException("Annotation server closed");
+      List<TagRequest> requests = new ArrayList<TagRequest>(tokenlists.size());
+      for (String[] tokens : tokenlists) {
+         TagRequest request = new TagRequest(tokens);
+         requests.add(request);
+         tagQueue.add(request);
+      }
+      // The server was closed in between, the batch thread may not see these requests
+      if (closed)
+         failWaitingRequests();
+      List<String[]> result = new ArrayList<String[]>(requests.size());
+      for (TagRequest request : requests) {
+         result.add(request.await());
+      }
+      return result;
+   }
+
+
+   /**
+    * Split, tokenize and tag a text.
+    * @param text The text.
+    * @return CoNLL lines of all sentences, each sentence ends with an empty line.
+    */
+   private String annotate (String text) {
+      TextSpan[] sentences = split(text);
+      List<String[]> tokenlists = new ArrayList<String[]>(sentences.length);
+      Tokenizer tokenizer = acquire(tokenizers);
+      try {
+         for (TextSpan sentence : sentences) {
+            tokenlists.add(tokenizer.tokenize(text.substring(sentence.begin, sentence.end)));
+         }
+      } finally {
+         tokenizers.release(tokenizer);
+      }
+      List<String[]> tags = tag(tokenlists);
+
+      StringBuilder conll = new StringBuilder();
+      for (int i=0; i<tokenlists.size(); i++) {
+         String[] tokens = tokenlists.get(i);
+         Sentence sentence = new Sentence();
+         for (int j=0; j<tokens.length; j++) {
+            sentence.addWord(new Word(j+1, tokens[j], "_", tags.get(i)[j], 0, "_"));
+         }
+         int id = 1;
+         for (Word word : sentence.getWordList()) {
+            conll.append(id).append('\t').append(sentence.wordToCoNLLString(word)).append('\n');
+            id++;
+         }
+         conll.append('\n');
+      }
+      return conll.toString();
+   }
+
+
+   /**
+    * Take waiting tagging requests and tag them together,
+    * until the server is closed.
+    */
+   private void tagBatches () {
+      List<TagRequest> batch = new ArrayList<TagRequest>();
+      List<String[]> tokenlists = new ArrayList<String[]>();
+      while (!closed) {
+         try {
+            batch.add(tagQueue.take());
+            long deadline = System.nanoTime() + maxDelayNanos;
+            tagQueue.drainTo(batch, maxBatchSize - batch.size());
+            while (batch.size() < maxBatchSize) {
+               TagRequest next = tagQueue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+               if (next == null)
+                  break;
+               batch.add(next);
+               tagQueue.drainTo(batch, maxBatchSize - batch.size());
+            }
+         } catch (InterruptedException e) {
+            if (closed) {
+               // requests already taken from the queue are not answered by 'failWaitingRequests'
+               RuntimeException closedError = new IllegalStateException("Annotation server closed");
+               for (TagRequest request : batch) {
+                  request.done(null, closedError);
+               }
+               break;
+            }
+         }
+
+         for (TagRequest request : batch) {
+            tokenlists.add(request.tokens);
+         }
+         try {
+            List<String[]> tags = tagger.getPOSTags(tokenlists);
+            for (int i=0; i<batch.size(); i++) {
+               batch.get(i).done(tags.get(i), null);
+            }
+            batches.incrementAndGet();
+            taggedSentences.addAndGet(batch.size());
+         } catch (RuntimeException e) {
+            for (TagRequest request : batch) {
+               request.done(null, e);
+            }
+         }
+         batch.clear();
+         tokenlists.clear();
+      }
+
+      // server closed, nobody will tag the rest
+      failWaitingRequests();
+   }
+
+
+   /**
+    * Answer all waiting tagging requests with an error (after the server was closed).
+    */
+   private void failWaitingRequests () {
+      RuntimeException closedError = new IllegalStateException("Annotation server closed");
+      for (TagRequest request = tagQueue.poll(); request != null; request = tagQueue.poll()) {
+         request.done(null, closedError);
+      }
+   }
+
+
+   /**
+    * Get a tool, convert interruption to an exception.
+    */
+   private static <T> T acquire (ToolPool<T> pool) {
+      try {
+         return pool.acquire();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new RuntimeException("Interrupted while waiting for a tool", e);
+      }
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Stop accepting connections, close open connections.
+    */
+   @Override
+   public void close () throws IOException {
+      closed = true;
+      serverSocket.close();
+      if (batchThread != null)
+         batchThread.interrupt();
+      synchronized (openSockets) {
+         for (Socket socket : openSockets) {
+            socket.close();
+         }
+      }
+      connectionThreads.shutdown();
+   }
+
+
+   /**
+    * One sentence waiting to be tagged.
+    */
+   private static class TagRequest {
+      final String[] tokens;
+      private final CountDownLatch latch = new CountDownLatch(1);
+      private String[] tags;
+      private RuntimeException error;
+
+      TagRequest (String[] tokens) {
+         this.tokens = tokens;
+      }
+
+      synchronized void done (String[] tags, RuntimeException error) {
+         if (latch.getCount() == 0)
+            return; // already answered
+         this.tags = tags;
+         this.error = error;
+         latch.countDown();
+      }
+
+      String[] await () {
+         try {
+            latch.await();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while tagging", e);
+         }
+         if (error != null)
+            throw new RuntimeException("Error in tagging", error);
+         return tags;
+      }
+   }
+
+
+   // ======= Start from command line =======
+
+
+   /**
+    * Start a server with the OpenNLP sentence splitter and tokenizer
+    * and the Stanford POS tagger (models in 'models/', see README).
+    * Runs until the program is stopped.
+    * @param args [port [number of threads]]
+    * @throws IOException If the models cannot be loaded or the port cannot be used.
+    */
+   public static void main (String[] args) throws IOException {
+      int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+      int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+      SentenceSplitter[] splitters = new SentenceSplitter[threads];
+      Tokenizer[] tokenizers = new Tokenizer[threads];
+      for (int i=0; i<threads; i++) {
+         SentenceSplitterOpenNLP splitter = new SentenceSplitterOpenNLP();
+         splitter.initializeOpenNLP();
+         splitters[i] = splitter;
+         tokenizers[i] = new TokenizerOpenNLP();
+      }
+      POSTagger tagger = new POSTaggerStanford();
+      tagger.setNumberOfThreads(threads);
+
+      AnnotationServer server = new AnnotationServer(splitters, tokenizers, tagger, port);
+      server.start();
+      System.err.println("Annotation server listening on port " + server.getPort());
+      try {
+         server.acceptThread.join();
+      } catch (InterruptedException e) {
+         server.close();
+      }
+   }
+
+}
@@ -0,0 +1,93 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import de.uni_stuttgart.ims.nlpbase.tools.POSTagger;
+
+
+/**
+ * POS tagger that sends the tokens to an AnnotationServer.
+ * Can be used by several threads at once, the batch methods
+ * send all sentences with one request.
+ * @author kesslewd
+ */
+public class RemotePOSTagger extends POSTagger {
+
+   private final AnnotationClient client;
+
+   /**
+    * Close the client with the tagger?
+    */
+   private final boolean ownClient;
+
+
+   /**
+    * Connect to a server on this computer.
+    * @param port Port of the server.
+    * @throws IOException If the server cannot be reached.
+    */
+   public RemotePOSTagger (int port) throws IOException {
+      this.client = new AnnotationClient(port);
+      this.ownClient = true;
+   }
+
+   /**
+    * Use an existing connection to the server (not closed with the tagger).
+    * @param client The client.
+    */
+   public RemotePOSTagger (AnnotationClient client) {
+      this.client = client;
+      this.ownClient = false;
+   }
+
+
+   /**
+    * Tags a list of tokens.
+    * @param tokenlist A list of tokens to be tagged.
+    * @return List of POS tags assigned to the tokens.
+    */
+   public String[] getPOSTags (String[] tokenlist) {
+      try {
+         return client.tag(tokenlist);
+      } catch (IOException e) {
+         throw new RuntimeException("Error in remote tagging", e);
+      }
+   }
+
+
+   /**
+    * Tags several lists of tokens with one request,
+    * the server tags them in parallel.
+    * @param tokenlists Lists of tokens to be tagged (one list per sentence).
+    * @return List of POS tags for each list of tokens, in the same order.
+    */
+   @Override
+   public List<String[]> getPOSTags (List<String[]> tokenlists) {
+      try {
+         return client.tag(tokenlists);
+      } catch (IOException e) {
+         throw new RuntimeException("Error in remote tagging", e);
+      }
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Close the connection (if it was opened by this tagger).
+    */
+   @Override
+   public void close () {
+      shutdownExecutor();
+      if (ownClient)
+         client.close();
+   }
+
+}
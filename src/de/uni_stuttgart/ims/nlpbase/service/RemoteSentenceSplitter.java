@@ -0,0 +1,75 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.service;
+
+import java.io.IOException;
+
+import de.uni_stuttgart.ims.nlpbase.tools.SentenceSplitter;
+import de.uni_stuttgart.ims.nlpbase.tools.TextSpan;
+
+
+/**
+ * Sentence splitter that sends the text to an AnnotationServer.
+ * Can be used by several threads at once.
+ * @author kesslewd
+ */
+public class RemoteSentenceSplitter extends SentenceSplitter {
+
+   private final AnnotationClient client;
+
+   /**
+    * Close the client with the splitter?
+    */
+   private final boolean ownClient;
+
+
+   /**
+    * Connect to a server on this computer.
+    * @param port Port of the server.
+    * @throws IOException If the server cannot be reached.
+    */
+   public RemoteSentenceSplitter (int port) throws IOException {
+      this.client = new AnnotationClient(port);
+      this.ownClient = true;
+   }
+
+   /**
+    * Use an existing connection to the server (not closed with the splitter).
+    * @param client The client.
+    */
+   public RemoteSentenceSplitter (AnnotationClient client) {
+      this.client = client;
+      this.ownClient = false;
+   }
+
+
+   /**
+    * Split the string into sentences.
+    * @param document The test of the whole document.
+    * @return List of spans with the start/end positions of each sentence. 
+    */
+   public TextSpan[] split (String document) {
+      try {
+         return client.split(document);
+      } catch (IOException e) {
+         throw new RuntimeException("Error in remote sentence splitting", e);
+      }
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Close the connection (if it was opened by this splitter).
+    */
+   @Override
+   public void close () {
+      if (ownClient)
+         client.close();
+   }
+
+}
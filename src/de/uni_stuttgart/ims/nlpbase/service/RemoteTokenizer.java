@@ -0,0 +1,92 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.service;
+
+import java.io.IOException;
+
+import de.uni_stuttgart.ims.nlpbase.tools.TextSpan;
+import de.uni_stuttgart.ims.nlpbase.tools.Tokenizer;
+
+
+/**
+ * Tokenizer that sends the sentences to an AnnotationServer.
+ * Can be used by several threads at once.
+ * @author kesslewd
+ */
+public class RemoteTokenizer extends Tokenizer {
+
+   private final AnnotationClient client;
+
+   /**
+    * Close the client with the tokenizer?
+    */
+   private final boolean ownClient;
+
+
+   /**
+    * Connect to a server on this computer.
+    * @param port Port of the server.
+    * @throws IOException If the server cannot be reached.
+    */
+   public RemoteTokenizer (int port) throws IOException {
+      this.client = new AnnotationClient(port);
+      this.ownClient = true;
+   }
+
+   /**
+    * Use an existing connection to the server (not closed with the tokenizer).
+    * @param client The client.
+    */
+   public RemoteTokenizer (AnnotationClient client) {
+      this.client = client;
+      this.ownClient = false;
+   }
+
+
+   /**
+    * Split one sentence into tokens.
+    * @param sentence The sentence.
+    * @return List of tokens. 
+    */
+   public String[] tokenize (String sentence) {
+      TextSpan[] spans = getTokenizationSpans(sentence);
+      String[] tokens = new String[spans.length];
+      for (int i=0; i<spans.length; i++) {
+         tokens[i] = spans[i].coveredText;
+         if (tokens[i] == null)
+            tokens[i] = sentence.substring(spans[i].begin, spans[i].end);
+      }
+      return tokens;
+   }
+
+
+   /**
+    * Split one sentence into tokens, return TextSpans.
+    * @param sentence The sentence.
+    * @return List of spans with the start/end positions of each token and the token.
+    */
+   public TextSpan[] getTokenizationSpans (String sentence) {
+      try {
+         return client.tokenize(sentence);
+      } catch (IOException e) {
+         throw new RuntimeException("Error in remote tokenization", e);
+      }
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Close the connection (if it was opened by this tokenizer).
+    */
+   @Override
+   public void close () {
+      if (ownClient)
+         client.close();
+   }
+
+}
@@ -0,0 +1,111 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import de.uni_stuttgart.ims.util.LRUCache;
+
+
+/**
+ * Remembers the results of another POS tagger for recently seen token lists,
+ * so sentences that occur again and again are tagged only once.
+ * Can be used by several threads at once (also with the batch methods)
+ * if the wrapped tagger can.
+ * @author kesslewd
+ */
+public class CachingPOSTagger extends POSTagger {
+
+   /**
+    * The tagger that does the work.
+    */
+   private final POSTagger tagger;
+
+   private final LRUCache<TokenList, String[]> cache;
+
+
+   /**
+    * Wrap a tagger.
+    * @param tagger The tagger that does the work.
+    * @param cacheSize Maximum number of token lists remembered.
+    */
+   public CachingPOSTagger (POSTagger tagger, int cacheSize) {
+      this.tagger = tagger;
+      this.cache = new LRUCache<TokenList, String[]>(cacheSize);
+   }
+
+
+   /**
+    * Tags a list of tokens, use the cached result if there is one.
+    * @param tokenlist A list of tokens to be tagged.
+    * @return List of POS tags assigned to the tokens (a new array for each call).
+    */
+   public String[] getPOSTags (String[] tokenlist) {
+      // Look up with the caller's array, only a key that is stored gets a copy
+      TokenList key = new TokenList(tokenlist);
+      String[] tags = cache.get(key);
+      if (tags == null) {
+         tags = tagger.getPOSTags(tokenlist);
+         cache.put(new TokenList(tokenlist.clone(), key.hash), tags);
+      }
+      return tags.clone();
+   }
+
+
+   /**
+    * @return The cache (with hit/miss statistics).
+    */
+   public LRUCache<?, String[]> getCache () {
+      return cache;
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Closes the wrapped tagger.
+    */
+   @Override
+   public void close() throws IOException {
+      shutdownExecutor();
+      tagger.close();
+   }
+
+
+   /**
+    * Token array as key for the cache (compares contents).
+    */
+   private static class TokenList {
+      private final String[] tokens;
+      private final int hash;
+
+      TokenList (String[] tokens) {
+         this(tokens, Arrays.hashCode(tokens));
+      }
+
+      TokenList (String[] tokens, int hash) {
+         this.tokens = tokens;
+         this.hash = hash;
+      }
+
+      @Override
+      public int hashCode() {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object other) {
+         if (!(other instanceof TokenList))
+            return false;
+         TokenList otherList = (TokenList) other;
+         return hash == otherList.hash && Arrays.equals(tokens, otherList.tokens);
+      }
+   }
+
+
+}
@@ -0,0 +1,106 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.io.IOException;
+
+import de.uni_stuttgart.ims.util.LRUCache;
+
+
+/**
+ * Remembers the results of another tokenizer for recently seen sentences,
+ * so sentences that occur again and again are tokenized only once.
+ * Can be used by several threads at once if the wrapped tokenizer can.
+ * @author kesslewd
+ */
+public class CachingTokenizer extends Tokenizer {
+
+   /**
+    * The tokenizer that does the work.
+    */
+   private final Tokenizer tokenizer;
+
+   private final LRUCache<String, String[]> tokenCache;
+   private final LRUCache<String, TextSpan[]> spanCache;
+
+
+   /**
+    * Wrap a tokenizer.
+    * @param tokenizer The tokenizer that does the work.
+    * @param cacheSize Maximum number of sentences remembered
+    *    (separately for tokens and spans).
+    */
+   public CachingTokenizer (Tokenizer tokenizer, int cacheSize) {
+      this.tokenizer = tokenizer;
+      this.tokenCache = new LRUCache<String, String[]>(cacheSize);
+      this.spanCache = new LRUCache<String, TextSpan[]>(cacheSize);
+   }
+
+
+   /**
+    * Split one sentence into tokens, use the cached result if there is one.
+    * @param sentence The sentence.
+    * @return List of tokens (a new array for each call).
+    */
+   public String[] tokenize (String sentence) {
+      String[] tokens = tokenCache.get(sentence);
+      if (tokens == null) {
+         tokens = tokenizer.tokenize(sentence);
+         tokenCache.put(sentence, tokens);
+      }
+      return tokens.clone();
+   }
+
+
+   /**
+    * Split one sentence into tokens, use the cached result if there is one.
+    * @param sentence The sentence.
+    * @return List of spans with the start/end positions of each token
+    *    (new span objects for each call).
+    */
+   public TextSpan[] getTokenizationSpans (String sentence) {
+      TextSpan[] spans = spanCache.get(sentence);
+      if (spans == null) {
+         spans = tokenizer.getTokenizationSpans(sentence);
+         spanCache.put(sentence, spans);
+      }
+      TextSpan[] copy = new TextSpan[spans.length];
+      for (int i=0; i<spans.length; i++) {
+         copy[i] = new TextSpan(spans[i].begin, spans[i].end, spans[i].coveredText);
+      }
+      return copy;
+   }
+
+
+   /**
+    * @return Cache for 'tokenize' (with hit/miss statistics).
+    */
+   public LRUCache<String, String[]> getTokenCache () {
+      return tokenCache;
+   }
+
+
+   /**
+    * @return Cache for 'getTokenizationSpans' (with hit/miss statistics).
+    */
+   public LRUCache<String, TextSpan[]> getSpanCache () {
+      return spanCache;
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Closes the wrapped tokenizer.
+    */
+   @Override
+   public void close() throws IOException {
+      tokenizer.close();
+   }
+
+
+}
@@ -0,0 +1,253 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.uni_stuttgart.ims.nlpbase.nlp.Document;
+import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
+import de.uni_stuttgart.ims.util.DaemonThreadFactory;
+
+
+/**
+ * Sentence splitting, tokenization and tagging for many small documents.
+ *
+ * Every document is processed by its own task. On Java 21 and later
+ * each task runs on a virtual thread, so there is no thread pool size
+ * to tune. The tools are kept in pools (see ToolPool), so only as many
+ * documents as there are tool instances are split / tokenized / tagged
+ * at the same time, all other tasks wait cheaply.
+ * On older Java versions, a pool with one platform thread per tool
+ * instance is used instead.
+ *
+ * @author kesslewd
+ */
+public class DocumentAnnotator implements Closeable {
+
+   private final ToolPool<SentenceSplitter> splitters;
+   private final ToolPool<Tokenizer> tokenizers;
+   private final ToolPool<POSTagger> taggers;
+
+   /**
+    * Runs one task per document.
+    */
+   private final ExecutorService executor;
+
+   /**
+    * True if the tasks run on virtual threads.
+    */
+   private final boolean virtualThreads;
+
+
+   /**
+    * Create an annotator.
+    * Each instance is used by one document at a time,
+    * the same instance may be passed several times if it is thread-safe.
+    * @param splitters Sentence splitters.
+    * @param tokenizers Tokenizers.
+    * @param taggers POS taggers.
+    */
+   public DocumentAnnotator (SentenceSplitter[] splitters, Tokenizer[] tokenizers, POSTagger[] taggers) {
+      this.splitters = new ToolPool<SentenceSplitter>(splitters);
+      this.tokenizers = new ToolPool<Tokenizer>(tokenizers);
+      this.taggers = new ToolPool<POSTagger>(taggers);
+
+      ExecutorService virtualExecutor = newVirtualThreadExecutor();
+      if (virtualExecutor != null) {
+         executor = virtualExecutor;
+         virtualThreads = true;
+      } else {
+         executor = Executors.newFixedThreadPool(splitters.length + tokenizers.length + taggers.length,
+               new DaemonThreadFactory("annotator"));
+         virtualThreads = false;
+      }
+   }
+
+
+   /**
+    * Create an executor that starts a new virtual thread for each task.
+    * Virtual threads exist only since Java 21, so look it up at runtime.
+    * @return The executor, or null if virtual threads are not available.
+    */
+   private static ExecutorService newVirtualThreadExecutor () {
+      try {
+         Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+         return (ExecutorService) factory.invoke(null);
+      } catch (Exception e) {
+         return null;
+      }
+   }
+
+
+   /**
+    * @return True if documents are processed on virtual threads.
+    */
+   public boolean usesVirtualThreads () {
+      return virtualThreads;
+   }
+
+
+   // ======= Processing =======
+
+
+   /**
+    * Process one document in the background.
+    * @param document The text of the document.
+    * @return The tagged sentences of the document, once done.
+    */
+   public Future<List<Sentence>> submit (final String document) {
+      return executor.submit(new Callable<List<Sentence>>() {
+         @Override
+         public List<Sentence> call() throws InterruptedException {
+            return annotate(document);
+         }
+      });
+   }
+
+
+   /**
+    * Process all documents and wait until all are done.
+    * @param documents The texts of the documents.
+    * @return The tagged sentences of each document, in the same order.
+    * @throws InterruptedException If interrupted while waiting.
+    */
+   public List<List<Sentence>> annotateAll (List<String> documents) throws InterruptedException {
+      List<Future<List<Sentence>>> futures = new ArrayList<Future<List<Sentence>>>(documents.size());
+      for (String document : documents) {
+         futures.add(submit(document));
+      }
+      List<List<Sentence>> result = new ArrayList<List<Sentence>>(documents.size());
+      try {
+         for (Future<List<Sentence>> future : futures) {
+            result.add(future.get());
+         }
+      } catch (ExecutionException e) {
+         for (Future<List<Sentence>> future : futures)
+            future.cancel(true);
+         throw new RuntimeException("Error in annotating document", e.getCause());
+      }
+      return result;
+   }
+
+
+   /**
+    * Process one document in the calling thread.
+    * Waits for a free tool instance before each step.
+    * @param document The text of the document.
+    * @return The tagged sentences of the document.
+    * @throws InterruptedException If interrupted while waiting for a tool.
+    */
+   public List<Sentence> annotate (String document) throws InterruptedException {
+
+      TextSpan[] sentenceSpans;
+      SentenceSplitter splitter = splitters.acquire();
+      try {
+         sentenceSpans = splitter.split(document);
+      } finally {
+         splitters.release(splitter);
+      }
+
+      String[][] tokens = new String[sentenceSpans.length][];
+      Tokenizer tokenizer = tokenizers.acquire();
+      try {
+         for (int i=0; i<sentenceSpans.length; i++) {
+            tokens[i] = tokenizer.tokenize(sentenceSpans[i].getCoveredText(document));
+         }
+      } finally {
+         tokenizers.release(tokenizer);
+      }
+
+      List<Sentence> sentences = new ArrayList<Sentence>(tokens.length);
+      POSTagger tagger = taggers.acquire();
+      try {
+         for (int i=0; i<tokens.length; i++) {
+            sentences.add(PreprocessingPipeline.createSentence(tokens[i], tagger.getPOSTags(tokens[i])));
+         }
+      } finally {
+         taggers.release(tagger);
+      }
+
+      return sentences;
+   }
+
+
+   /**
+    * Process one document in the calling thread,
+    * keep the result in the compact Document representation.
+    * Waits for a free tool instance before each step.
+    * @param text The text of the document.
+    * @return The document with sentence and token positions and POS tags.
+    * @throws InterruptedException If interrupted while waiting for a tool.
+    */
+   public Document annotateDocument (String text) throws InterruptedException {
+
+      SpanArray sentenceSpans = new SpanArray();
+      SentenceSplitter splitter = splitters.acquire();
+      try {
+         splitter.split(text, sentenceSpans);
+      } finally {
+         splitters.release(splitter);
+      }
+
+      Document document = new Document(text);
+      String[][] tokens = new String[sentenceSpans.size()][];
+      TokenizationResult result = new TokenizationResult();
+      int[] begins = new int[0];
+      int[] ends = new int[0];
+      Tokenizer tokenizer = tokenizers.acquire();
+      try {
+         for (int i=0; i<sentenceSpans.size(); i++) {
+            int offset = sentenceSpans.getBegin(i);
+            tokenizer.tokenize(text.substring(offset, sentenceSpans.getEnd(i)), result);
+            if (begins.length < result.size()) {
+               begins = new int[result.size()];
+               ends = new int[result.size()];
+            }
+            for (int j=0; j<result.size(); j++) {
+               begins[j] = offset + result.getBegin(j);
+               ends[j] = offset + result.getEnd(j);
+            }
+            document.addSentence(offset, sentenceSpans.getEnd(i), begins, ends, result.size());
+            tokens[i] = result.getTokens();
+         }
+      } finally {
+         tokenizers.release(tokenizer);
+      }
+
+      POSTagger tagger = taggers.acquire();
+      try {
+         for (int i=0; i<tokens.length; i++) {
+            document.setPOSTags(i, tagger.getPOSTags(tokens[i]));
+         }
+      } finally {
+         taggers.release(tagger);
+      }
+
+      return document;
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Stops the threads, the tools are not closed.
+    */
+   @Override
+   public void close () {
+      executor.shutdown();
+   }
+
+
+}
@@ -0,0 +1,304 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Plans batch processing of sentences with very different lengths.
+ *
+ * Sentences are put into buckets by length and each bucket is cut
+ * into batches with about the same number of tokens, so all batches
+ * cost about the same. Batches of long sentences come first,
+ * so no thread is left with a long sentence at the end.
+ * The batches only contain indices, results are written to the
+ * original position, so the order is not changed.
+ *
+ * Also keeps statistics on the time spent on each bucket.
+ * Used by POSTagger (see 'POSTagger.setScheduler').
+ *
+ * @author kesslewd
+ */
+public class LengthBucketScheduler {
+
+   /**
+    * Default upper bounds of the buckets (sentence length in tokens, inclusive).
+    */
+   public static final int[] DEFAULT_BUCKET_BOUNDS = {5, 10, 20, 40, 80, 160};
+
+   /**
+    * Default number of tokens in a batch.
+    */
+   public static final int DEFAULT_BATCH_TOKENS = 1000;
+
+   /**
+    * Upper bound of each bucket, the last bucket has no bound.
+    */
+   private final int[] bounds;
+
+   private final int batchTokens;
+
+   private final BucketStatistics[] statistics;
+
+
+   /**
+    * Create a scheduler with the default buckets and batch size.
+    */
+   public LengthBucketScheduler () {
+      this(DEFAULT_BUCKET_BOUNDS, DEFAULT_BATCH_TOKENS);
+   }
+
+
+   /**
+    * Create a scheduler.
+    * @param bucketBounds Largest sentence length of each bucket, ascending.
+    *    Longer sentences go into an additional last bucket.
+    * @param batchTokens Number of tokens in a batch (a batch has at least one sentence).
+    */
+   public LengthBucketScheduler (int[] bucketBounds, int batchTokens) {
+      for (int i=1; i<bucketBounds.length; i++) {
+         if (bucketBounds[i] <= bucketBounds[i-1])
+            throw new IllegalArgumentException("Bucket bounds must be ascending: " + Arrays.toString(bucketBounds));
+      }
+      this.bounds = bucketBounds.clone();
+      this.batchTokens = Math.max(1, batchTokens);
+      this.statistics = new BucketStatistics[bounds.length + 1];
+      for (int i=0; i<statistics.length; i++) {
+         int min = (i == 0) ? 0 : bounds[i-1] + 1;
+         int max = (i < bounds.length) ? bounds[i] : Integer.MAX_VALUE;
+         statistics[i] = new BucketStatistics(min, max);
+      }
+   }
+
+
+   /**
+    * @param length Sentence length.
+    * @return Index of the bucket for this length.
+    */
+   public int getBucket (int length) {
+      int bucket = Arrays.binarySearch(bounds, length);
+      return bucket >= 0 ? bucket : -bucket - 1;
+   }
+
+
+   /**
+    * @return Number of buckets.
+    */
+   public int getNumberOfBuckets () {
+      return statistics.length;
+   }
+
+
+   /**
+    * Group items into batches.
+    * @param lengths Length of each item (number of tokens).
+    * @return Batches, longest sentences first. Every index occurs in exactly one batch.
+    */
+   public List<Batch> createBatches (int[] lengths) {
+      // counting sort by bucket, stable
+      int[] starts = new int[statistics.length + 1];
+      int[] buckets = new int[lengths.length];
+      for (int i=0; i<lengths.length; i++) {
+         buckets[i] = getBucket(lengths[i]);
+         starts[buckets[i]+1]++;
+      }
+      for (int b=0; b<statistics.length; b++) {
+         starts[b+1] += starts[b];
+      }
+      int[] sorted = new int[lengths.length];
+      int[] next = Arrays.copyOf(starts, statistics.length);
+      for (int i=0; i<lengths.length; i++) {
+         sorted[next[buckets[i]]++] = i;
+      }
+
+      List<Batch> batches = new ArrayList<Batch>();
+      for (int b=statistics.length-1; b>=0; b--) {
+         int begin = starts[b];
+         long tokens = 0;
+         for (int i=starts[b]; i<starts[b+1]; i++) {
+            tokens += lengths[sorted[i]];
+            if (tokens >= batchTokens || i == starts[b+1]-1) {
+               batches.add(new Batch(b, Arrays.copyOfRange(sorted, begin, i+1), tokens));
+               begin = i+1;
+               tokens = 0;
+            }
+         }
+      }
+      return batches;
+   }
+
+
+   /**
+    * Record the time needed for one batch.
+    * @param batch The batch.
+    * @param nanos Time in nanoseconds.
+    */
+   void record (Batch batch, long nanos) {
+      statistics[batch.bucket].add(batch, nanos);
+   }
+
+
+   /**
+    * @return Statistics for each bucket (since creation or last reset).
+    */
+   public BucketStatistics[] getStatistics () {
+      return statistics.clone();
+   }
+
+
+   /**
+    * Start collecting statistics from zero.
+    */
+   public void resetStatistics () {
+      for (BucketStatistics bucket : statistics) {
+         bucket.reset();
+      }
+   }
+
+
+   /**
+    * Some items of the same bucket to be processed together.
+    */
+   public static class Batch {
+
+      final int bucket;
+      final int[] indices;
+      final long tokens;
+
+      Batch (int bucket, int[] indices, long tokens) {
+         this.bucket = bucket;
+         this.indices = indices;
+         this.tokens = tokens;
+      }
+
+      /**
+       * @return Index of the bucket.
+       */
+      public int getBucket() {
+         return bucket;
+      }
+
+      /**
+       * @return Indices of the items, ascending.
+       */
+      public int[] getIndices() {
+         return indices.clone();
+      }
+
+      /**
+       * @return Number of tokens in all items.
+       */
+      public long getTokens() {
+         return tokens;
+      }
+   }
+
+
+   /**
+    * Time spent on the sentences of one bucket.
+    */
+   public static class BucketStatistics {
+
+      private final int minLength;
+      private final int maxLength;
+      private final AtomicLong batches = new AtomicLong();
+      private final AtomicLong sentences = new AtomicLong();
+      private final AtomicLong tokens = new AtomicLong();
+      private final AtomicLong nanos = new AtomicLong();
+
+      BucketStatistics (int minLength, int maxLength) {
+         this.minLength = minLength;
+         this.maxLength = maxLength;
+      }
+
+      void add (Batch batch, long time) {
+         batches.incrementAndGet();
+         sentences.addAndGet(batch.indices.length);
+         tokens.addAndGet(batch.tokens);
+         nanos.addAndGet(time);
+      }
+
+      void reset () {
+         batches.set(0);
+         sentences.set(0);
+         tokens.set(0);
+         nanos.set(0);
+      }
+
+      /**
+       * @return Shortest sentence length in this bucket.
+       */
+      public int getMinLength() {
+         return minLength;
+      }
+
+      /**
+       * @return Longest sentence length in this bucket (Integer.MAX_VALUE for the last).
+       */
+      public int getMaxLength() {
+         return maxLength;
+      }
+
+      /**
+       * @return Number of batches processed.
+       */
+      public long getBatches() {
+         return batches.get();
+      }
+
+      /**
+       * @return Number of sentences processed.
+       */
+      public long getSentences() {
+         return sentences.get();
+      }
+
+      /**
+       * @return Number of tokens processed.
+       */
+      public long getTokens() {
+         return tokens.get();
+      }
+
+      /**
+       * @return Time spent processing (sum over all threads) in nanoseconds.
+       */
+      public long getNanos() {
+         return nanos.get();
+      }
+
+      /**
+       * @return Average time for one batch in milliseconds.
+       */
+      public double getMillisPerBatch() {
+         long count = batches.get();
+         return count == 0 ? 0 : nanos.get() / 1e6 / count;
+      }
+
+      /**
+       * @return Average time for one sentence in microseconds.
+       */
+      public double getMicrosPerSentence() {
+         long count = sentences.get();
+         return count == 0 ? 0 : nanos.get() / 1e3 / count;
+      }
+
+      @Override
+      public String toString() {
+         return String.format("%d-%s tokens: %d sentences in %d batches, %.2f ms/batch, %.1f us/sentence",
+               minLength, (maxLength == Integer.MAX_VALUE ? "" : String.valueOf(maxLength)),
+               getSentences(), getBatches(), getMillisPerBatch(), getMicrosPerSentence());
+      }
+   }
+
+
+}
@@ -0,0 +1,64 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+/**
+ * Text span with long offsets, for texts that are too large
+ * to be held in one String (see StreamingSentenceSplitter).
+ * from start of span.
+ * to end end of span, which is +1 more than the last element in the span.
+ * 
+ * @author kesslewd
+ *
+ */
+public class LongTextSpan {
+
+   /**
+    * Start index of span.
+    */
+   public long begin;
+
+   /**
+    * End index of span.
+    */
+   public long end;
+   
+   /**
+    * Text covered by span.
+    */
+   public String coveredText;
+
+   /**
+    * Text span.
+    * @param begin start of span.
+    * @param end end of span, which is +1 more than the last element in the span.
+    * @param coveredText The text that this span covers.
+    */
+   public LongTextSpan (long begin, long end, String coveredText) {
+      this.begin = begin;
+      this.end = end;
+      this.coveredText = coveredText; 
+   }
+
+   /**
+    * Is this index inside the span?
+    * @param index Element index.
+    * @return True if index in [begin,end)
+    */
+   public boolean contains(long index) {
+      return (index >= begin) && (index < end);
+   }
+   
+   /**
+    * @return [begin, end)
+    */
+   public String toString() {
+      return "[" + begin + ", " + end + ")";
+   }
+      
+}
@@ -9,28 +9,249 @@ package de.uni_stuttgart.ims.nlpbase.tools;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
+import de.uni_stuttgart.ims.nlpbase.nlp.Word;
+import de.uni_stuttgart.ims.util.DaemonThreadFactory;
 
 /**
  * Wrapper around different POS tagger.
+ *
+ * The batch methods tag many sentences in parallel.
+ * They call 'getPOSTags' from several threads at once, so
+ * they can only be used with implementations where this is safe.
  * @author kesslewd
  */
 public abstract class POSTagger implements Closeable {
-   
+
+   /**
+    * Number of threads used for batch tagging.
+    */
+   private volatile int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+   /**
+    * Thread pool for batch tagging (created on first use).
+    */
+   private ExecutorService executor;
+
+   /**
+    * Groups sentences by length for batch tagging, null = no grouping.
+    */
+   private volatile LengthBucketScheduler scheduler;
+
 
    /**
     * Tags a list of tokens.
     * @param tokenlist A list of tokens to be tagged.
-    * @return List of POS tags assigned to the tokens. 
+    * @return List of POS tags assigned to the tokens.
     */
    public abstract String[] getPOSTags (String[] tokenlist);
 
-   
+
+   /**
+    * Tags a sentence and writes the tags directly into its words
+    * (the POS of each word is overwritten).
+    * This implementation uses 'getPOSTags', subclasses may
+    * hand the words to their tagger directly.
+    * @param sentence A sentence.
+    */
+   public void tag (Sentence sentence) {
+      List<Word> words = sentence.getWordList();
+      String[] tokens = new String[words.size()];
+      for (int i=0; i<tokens.length; i++) {
+         tokens[i] = words.get(i).getForm();
+      }
+      String[] tags = getPOSTags(tokens);
+      for (int i=0; i<tags.length; i++) {
+         words.get(i).setPOS(tags[i]);
+      }
+   }
+
+
+   // ======= Batch processing =======
+
+
+   /**
+    * Set the number of threads used for batch tagging.
+    * Default is the number of available processors.
+    * Can be called while batches are tagged, these batches
+    * are finished by the old threads.
+    * @param numberOfThreads Number of threads (1 = tag in the calling thread).
+    */
+   public synchronized void setNumberOfThreads (int numberOfThreads) {
+      this.numberOfThreads = Math.max(1, numberOfThreads);
+      shutdownExecutor();
+   }
+
+
+   /**
+    * Group sentences of similar length for batch tagging.
+    * This gives more even work for the threads and
+    * statistics on the time needed per length.
+    * @param scheduler The scheduler (null = process in the given order).
+    */
+   public void setScheduler (LengthBucketScheduler scheduler) {
+      this.scheduler = scheduler;
+   }
+
+
+   /**
+    * @return The scheduler used for batch tagging (null if none).
+    */
+   public LengthBucketScheduler getScheduler () {
+      return scheduler;
+   }
+
+
+   /**
+    * Tags several lists of tokens in parallel.
+    * @param tokenlists Lists of tokens to be tagged (one list per sentence).
+    * @return List of POS tags for each list of tokens, in the same order.
+    */
+   public List<String[]> getPOSTags (final List<String[]> tokenlists) {
+      final String[][] tags = new String[tokenlists.size()][];
+      int[] lengths = new int[tokenlists.size()];
+      for (int i=0; i<lengths.length; i++) {
+         lengths[i] = tokenlists.get(i).length;
+      }
+      runParallel(lengths, new IndexTask() {
+         @Override
+         public void process(int index) {
+            tags[index] = getPOSTags(tokenlists.get(index));
+         }
+      });
+      return Arrays.asList(tags);
+   }
+
+
+   /**
+    * Tags several sentences in parallel with 'tag'.
+    * The tags are written directly into the words of the sentences,
+    * e.g., to retag a corpus read with ParseReaderCoNLL.
+    * @param sentences Sentences to be tagged.
+    */
+   public void tagSentences (final List<? extends Sentence> sentences) {
+      int[] lengths = new int[sentences.size()];
+      for (int i=0; i<lengths.length; i++) {
+         lengths[i] = sentences.get(i).getSentenceLength();
+      }
+      runParallel(lengths, new IndexTask() {
+         @Override
+         public void process(int index) {
+            tag(sentences.get(index));
+         }
+      });
+   }
+
+
+   /**
+    * Some work to be done for one item of a batch.
+    */
+   private interface IndexTask {
+      void process (int index);
+   }
+
+
+   /**
+    * Process all items with all threads.
+    * Each thread takes the next unprocessed item (or batch, if there
+    * is a scheduler) until all are done, so long and short sentences
+    * are distributed evenly.
+    * @param lengths Length of each item.
+    * @param task What to do for one item.
+    */
+   private void runParallel (int[] lengths, final IndexTask task) {
+      final LengthBucketScheduler batchScheduler = scheduler;
+      final List<LengthBucketScheduler.Batch> batches =
+            (batchScheduler == null) ? null : batchScheduler.createBatches(lengths);
+      final int units = (batches == null) ? lengths.length : batches.size();
+      final AtomicInteger next = new AtomicInteger(0);
+      Runnable worker = new Runnable() {
+         @Override
+         public void run() {
+            for (int i = next.getAndIncrement(); i < units; i = next.getAndIncrement()) {
+               if (batches == null) {
+                  task.process(i);
+               } else {
+                  LengthBucketScheduler.Batch batch = batches.get(i);
+                  long start = System.nanoTime();
+                  for (int index : batch.indices) {
+                     task.process(index);
+                  }
+                  batchScheduler.record(batch, System.nanoTime() - start);
+               }
+            }
+         }
+      };
+
+      int threads = Math.min(numberOfThreads, units);
+      if (threads <= 1) {
+         worker.run();
+         return;
+      }
+
+      // Submit all workers while holding the lock, so 'setNumberOfThreads' or 'close'
+      // cannot shut the pool down in between (submitted workers still run after 'shutdown')
+      List<Future<?>> futures = new ArrayList<Future<?>>();
+      synchronized (this) {
+         ExecutorService pool = getExecutor();
+         for (int i=0; i<threads; i++) {
+            futures.add(pool.submit(worker));
+         }
+      }
+      try {
+         for (Future<?> future : futures) {
+            future.get();
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new RuntimeException("Interrupted while tagging", e);
+      } catch (ExecutionException e) {
+         throw new RuntimeException("Error in tagging", e.getCause());
+      }
+   }
+
+
+   /**
+    * Get the thread pool, create it if needed.
+    * @return The thread pool for batch tagging.
+    */
+   private synchronized ExecutorService getExecutor () {
+      if (executor == null) {
+         executor = Executors.newFixedThreadPool(numberOfThreads, new DaemonThreadFactory("postagger"));
+      }
+      return executor;
+   }
+
+
+   /**
+    * Stop the threads used for batch tagging.
+    * Batches that are already running are still finished by these threads,
+    * the next batch creates a new thread pool.
+    * Should be called by subclasses in 'close'.
+    */
+   protected synchronized void shutdownExecutor () {
+      if (executor != null) {
+         executor.shutdown();
+         executor = null;
+      }
+   }
+
+
    /**
     * Implment Closeable.
     * Close all open resources.
     */
    @Override
    public abstract void close() throws IOException;
-   
-   
+
+
 }
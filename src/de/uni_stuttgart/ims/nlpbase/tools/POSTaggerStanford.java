@@ -11,6 +11,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
+import de.uni_stuttgart.ims.nlpbase.nlp.Word;
 import edu.stanford.nlp.ling.HasWord;
 import edu.stanford.nlp.ling.TaggedWord;
 import edu.stanford.nlp.tagger.maxent.MaxentTagger;
@@ -53,17 +55,43 @@ public class POSTaggerStanford extends POSTagger {
    // ======= Processing (return Strings) =======
    
 
+   /**
+    * Word wrappers handed to the tagger, reused between calls
+    * (one list per thread, the tagger itself may be shared).
+    */
+   private final ThreadLocal<ArrayList<Thingy>> wrappers = new ThreadLocal<ArrayList<Thingy>>() {
+      @Override
+      protected ArrayList<Thingy> initialValue() {
+         return new ArrayList<Thingy>();
+      }
+   };
+
+
+   /**
+    * Get word wrappers for the given number of tokens.
+    * @param size Number of tokens.
+    * @return List of wrappers for this thread, size exactly 'size'.
+    */
+   private List<Thingy> getWrappers (int size) {
+      ArrayList<Thingy> stupid = wrappers.get();
+      while (stupid.size() < size) {
+         stupid.add(new Thingy());
+      }
+      return stupid.subList(0, size);
+   }
+
+
    /**
     * Tags a list of tokens.
+    * MaxentTagger is thread-safe, so this may be called from several
+    * threads at once (as done by the batch methods).
     * @return List of POS tags. 
     */
    public String[] getPOSTags (String[] tokenlist) {
       
-      List<Thingy> stupid = new ArrayList<Thingy>();
-      for (String word : tokenlist) {
-         Thingy blubb = new Thingy();
-         blubb.setWord(word);
-         stupid.add(blubb);
+      List<Thingy> stupid = getWrappers(tokenlist.length);
+      for (int i=0; i<tokenlist.length; i++) {
+         stupid.get(i).setWord(tokenlist[i]);
       }
       
       ArrayList<TaggedWord> ptbt = stanfTagger.tagSentence(stupid);      
@@ -75,6 +103,27 @@ public class POSTaggerStanford extends POSTagger {
       return str;
    }
 
+
+
+   /**
+    * Tags a sentence and writes the tags directly into its words.
+    * The forms are handed to the tagger without copying them to an array first.
+    * @param sentence A sentence.
+    */
+   @Override
+   public void tag (Sentence sentence) {
+      List<Word> words = sentence.getWordList();
+      List<Thingy> stupid = getWrappers(words.size());
+      for (int i=0; i<words.size(); i++) {
+         stupid.get(i).setWord(words.get(i).getForm());
+      }
+
+      ArrayList<TaggedWord> ptbt = stanfTagger.tagSentence(stupid);
+      for (int i=0; i<ptbt.size(); i++) {
+         words.get(i).setPOS(ptbt.get(i).tag());
+      }
+   }
+
    
 
    // ======= Cleanup =======
@@ -86,6 +135,7 @@ public class POSTaggerStanford extends POSTagger {
     */
    @Override
    public void close() throws IOException {
+      shutdownExecutor();
    }
    
    
@@ -0,0 +1,200 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.uni_stuttgart.ims.util.DaemonThreadFactory;
+
+
+/**
+ * Splits one large document into sentences with several threads.
+ * 
+ * The document is only cut into pieces at paragraph breaks (blank lines),
+ * if there is none nearby a piece gets longer until the next one.
+ * The pieces are split at the same time, then the sentence spans
+ * are moved to their position in the whole document.
+ * A sentence never goes over a paragraph break, so the result is the same
+ * as splitting the whole document if the splitter also respects them.
+ * 
+ * @author kesslewd
+ */
+public class ParallelSentenceSplitter extends SentenceSplitter {
+
+   /**
+    * Default size of a piece in characters.
+    */
+   public static final int DEFAULT_PIECE_SIZE = 1 << 16;
+
+   private final SentenceSplitter[] splitterInstances;
+   private final ToolPool<SentenceSplitter> splitters;
+   private final int pieceSize;
+   private final ExecutorService executor;
+
+
+   /**
+    * Create a parallel splitter.
+    * @param splitters Sentence splitters, one thread is used per splitter
+    *    (the same instance may be passed several times if it is thread-safe).
+    * @param pieceSize Approximate number of characters per piece.
+    */
+   public ParallelSentenceSplitter (SentenceSplitter[] splitters, int pieceSize) {
+      this.splitterInstances = splitters;
+      this.splitters = new ToolPool<SentenceSplitter>(splitters);
+      this.pieceSize = Math.max(1, pieceSize);
+      this.executor = Executors.newFixedThreadPool(splitters.length, new DaemonThreadFactory("splitter"));
+   }
+
+
+   /**
+    * Split the string into sentences, pieces in parallel.
+    * @param document The test of the whole document.
+    * @return List of spans with the start/end positions of each sentence and covered text. 
+    */
+   public TextSpan[] split (final String document) {
+      
+      final List<Integer> cuts = findCuts(document);
+      if (cuts.size() == 2) {
+         return splitPiece(document, 0, document.length());
+      }
+
+      List<Future<TextSpan[]>> futures = new ArrayList<Future<TextSpan[]>>();
+      for (int i=0; i<cuts.size()-1; i++) {
+         final int begin = cuts.get(i);
+         final int end = cuts.get(i+1);
+         futures.add(executor.submit(new Callable<TextSpan[]>() {
+            @Override
+            public TextSpan[] call() {
+               return splitPiece(document, begin, end);
+            }
+         }));
+      }
+
+      List<TextSpan> sentences = new ArrayList<TextSpan>();
+      try {
+         for (Future<TextSpan[]> future : futures) {
+            Collections.addAll(sentences, future.get());
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new RuntimeException("Interrupted while splitting", e);
+      } catch (ExecutionException e) {
+         throw new RuntimeException("Error in splitting", e.getCause());
+      }
+      return sentences.toArray(new TextSpan[sentences.size()]);
+   }
+
+
+   /**
+    * Split one piece of the document.
+    * @param document The whole document.
+    * @param begin Start of the piece.
+    * @param end End of the piece.
+    * @return Sentence spans with positions in the whole document.
+    */
+   private TextSpan[] splitPiece (String document, int begin, int end) {
+      String piece = document.substring(begin, end);
+      SentenceSplitter splitter;
+      try {
+         splitter = splitters.acquire();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new RuntimeException("Interrupted while splitting", e);
+      }
+      TextSpan[] sentences;
+      try {
+         sentences = splitter.split(piece);
+      } finally {
+         splitters.release(splitter);
+      }
+      if (begin != 0) {
+         for (TextSpan sentence : sentences) {
+            sentence.begin += begin;
+            sentence.end += begin;
+         }
+      }
+      return sentences;
+   }
+
+
+   /**
+    * Find where to cut the document into pieces.
+    * @param document The whole document.
+    * @return Positions of the cuts, first is 0, last is the document length.
+    */
+   private List<Integer> findCuts (String document) {
+      List<Integer> cuts = new ArrayList<Integer>();
+      cuts.add(0);
+      int length = document.length();
+      int start = 0;
+      while (length - start > pieceSize + pieceSize / 2) {
+         int from = start + pieceSize;
+         int to = Math.min(length, from + pieceSize / 2);
+         int cut = findParagraphBreak(document, from, to);
+         while (cut < 0 && to < length) { // no break near, piece gets longer
+            from = to;
+            to = Math.min(length, from + pieceSize);
+            cut = findParagraphBreak(document, from, to);
+         }
+         if (cut < 0 || cut >= length)
+            break;
+         cuts.add(cut);
+         start = cut;
+      }
+      cuts.add(length);
+      return cuts;
+   }
+
+
+   /**
+    * Find the first blank line (only whitespace between two line breaks).
+    * @param document The whole document.
+    * @param from Where to start looking.
+    * @param to Where to stop looking.
+    * @return Position after the blank line, -1 if there is none.
+    */
+   private static int findParagraphBreak (String document, int from, int to) {
+      int length = document.length();
+      for (int i=from; i<to; i++) {
+         if (document.charAt(i) == '\n') {
+            int j = i+1;
+            while (j < length && (document.charAt(j) == ' ' || document.charAt(j) == '\t' || document.charAt(j) == '\r'))
+               j++;
+            if (j < length && document.charAt(j) == '\n')
+               return j+1;
+         }
+      }
+      return -1;
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Stops the threads and closes the splitters.
+    */
+   @Override
+   public void close() throws IOException { 
+      executor.shutdown();
+      Set<SentenceSplitter> closed = Collections.newSetFromMap(new IdentityHashMap<SentenceSplitter, Boolean>());
+      for (SentenceSplitter splitter : splitterInstances) {
+         if (closed.add(splitter))
+            splitter.close();
+      }
+   }
+
+
+}
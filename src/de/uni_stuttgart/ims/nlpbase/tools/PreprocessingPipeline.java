@@ -0,0 +1,478 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.uni_stuttgart.ims.nlpbase.io.ParseWriterCoNLL;
+import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
+import de.uni_stuttgart.ims.nlpbase.nlp.Word;
+import de.uni_stuttgart.ims.util.DaemonThreadFactory;
+
+
+/**
+ * Preprocessing from raw text to tagged sentences in CoNLL format.
+ *
+ * Sentence splitting, tokenization and tagging run as stages
+ * that are connected by bounded queues. Each stage runs one thread
+ * per tool instance given in the constructor, so the number of threads
+ * of a stage is set by passing more or fewer instances
+ * (the same instance may be passed several times if it is thread-safe).
+ * The sentences are written in the order of the input documents.
+ *
+ * @author kesslewd
+ */
+public class PreprocessingPipeline {
+
+   /**
+    * Default capacity of the queues between the stages (in documents).
+    */
+   public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+   private SentenceSplitter[] splitters;
+   private Tokenizer[] tokenizers;
+   private POSTagger[] taggers;
+
+   /**
+    * Capacity of the queues between the stages (in documents).
+    */
+   private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+   /**
+    * Statistics of the last run, one per stage.
+    */
+   private StageStatistics[] statistics = new StageStatistics[0];
+
+
+   /**
+    * Create a pipeline.
+    * @param splitters Sentence splitters, one thread is used per splitter.
+    * @param tokenizers Tokenizers, one thread is used per tokenizer.
+    * @param taggers POS taggers, one thread is used per tagger.
+    */
+   public PreprocessingPipeline (SentenceSplitter[] splitters, Tokenizer[] tokenizers, POSTagger[] taggers) {
+      if (splitters.length == 0 || tokenizers.length == 0 || taggers.length == 0)
+         throw new IllegalArgumentException("Every stage needs at least one tool");
+      this.splitters = splitters;
+      this.tokenizers = tokenizers;
+      this.taggers = taggers;
+   }
+
+
+   /**
+    * Set the capacity of the queues between the stages.
+    * When a queue is full, the stage before it waits (backpressure).
+    * @param queueCapacity Maximum number of documents in one queue.
+    */
+   public void setQueueCapacity (int queueCapacity) {
+      this.queueCapacity = Math.max(1, queueCapacity);
+   }
+
+
+   // ======= Processing =======
+
+
+   /**
+    * Process all documents and write the sentences to the writer.
+    * Returns when all documents are written.
+    *
+    * @param documents The texts of the documents.
+    * @param writer Where the tagged sentences are written to (not closed).
+    * @throws InterruptedException If the calling thread is interrupted while waiting.
+    */
+   public void run (final Iterator<String> documents, final ParseWriterCoNLL writer) throws InterruptedException {
+
+      final BlockingQueue<Item> splitQueue = new ArrayBlockingQueue<Item>(queueCapacity);
+      final BlockingQueue<Item> tokenizeQueue = new ArrayBlockingQueue<Item>(queueCapacity);
+      final BlockingQueue<Item> tagQueue = new ArrayBlockingQueue<Item>(queueCapacity);
+      final BlockingQueue<Item> writeQueue = new ArrayBlockingQueue<Item>(queueCapacity);
+
+      // Documents waiting for their predecessors in the writer count as well,
+      // so the number of documents in the pipeline is bounded.
+      final Semaphore inFlight = new Semaphore(4 * queueCapacity + splitters.length + tokenizers.length + taggers.length);
+
+      final StageStatistics splitStats = new StageStatistics("split", splitters.length);
+      final StageStatistics tokenizeStats = new StageStatistics("tokenize", tokenizers.length);
+      final StageStatistics tagStats = new StageStatistics("tag", taggers.length);
+      final StageStatistics writeStats = new StageStatistics("write", 1);
+      statistics = new StageStatistics[] {splitStats, tokenizeStats, tagStats, writeStats};
+
+      final Run run = new Run(1 + splitters.length + tokenizers.length + taggers.length + 1);
+
+      // Read input
+      run.submit(new Runnable() {
+         @Override
+         public void run() {
+            try {
+               long number = 0;
+               while (documents.hasNext()) {
+                  inFlight.acquire();
+                  splitQueue.put(new Item(number++, documents.next()));
+               }
+               for (int i=0; i<splitters.length; i++)
+                  splitQueue.put(Item.END);
+            } catch (InterruptedException e) {
+               // aborted
+            }
+         }
+      });
+
+      // Sentence splitting
+      final AtomicInteger splittersLeft = new AtomicInteger(splitters.length);
+      for (final SentenceSplitter splitter : splitters) {
+         run.submit(new StageWorker(splitQueue, tokenizeQueue, splittersLeft, tokenizers.length, splitStats) {
+            @Override
+            void process(Item document) {
+               document.sentences = splitter.split(document.text);
+               document.tokens = new String[document.sentences.length][];
+               document.tags = new String[document.sentences.length][];
+            }
+         });
+      }
+
+      // Tokenization
+      final AtomicInteger tokenizersLeft = new AtomicInteger(tokenizers.length);
+      for (final Tokenizer tokenizer : tokenizers) {
+         run.submit(new StageWorker(tokenizeQueue, tagQueue, tokenizersLeft, taggers.length, tokenizeStats) {
+            @Override
+            void process(Item document) {
+               for (int i=0; i<document.sentences.length; i++) {
+                  document.tokens[i] = tokenizer.tokenize(document.sentences[i].getCoveredText(document.text));
+               }
+            }
+         });
+      }
+
+      // Tagging
+      final AtomicInteger taggersLeft = new AtomicInteger(taggers.length);
+      for (final POSTagger tagger : taggers) {
+         run.submit(new StageWorker(tagQueue, writeQueue, taggersLeft, 1, tagStats) {
+            @Override
+            void process(Item document) {
+               for (int i=0; i<document.tokens.length; i++) {
+                  document.tags[i] = tagger.getPOSTags(document.tokens[i]);
+               }
+            }
+         });
+      }
+
+      // Writing in input order
+      run.submit(new Runnable() {
+         @Override
+         public void run() {
+            HashMap<Long, Item> waiting = new HashMap<Long, Item>();
+            long next = 0;
+            try {
+               for (Item document = writeQueue.take(); document != Item.END; document = writeQueue.take()) {
+                  waiting.put(document.number, document);
+                  for (Item ready = waiting.remove(next); ready != null; ready = waiting.remove(next)) {
+                     long start = System.nanoTime();
+                     for (Sentence sentence : ready.toSentences()) {
+                        writer.writeParse(sentence);
+                     }
+                     writeStats.add(ready, System.nanoTime() - start);
+                     inFlight.release();
+                     next++;
+                  }
+               }
+            } catch (InterruptedException e) {
+               // aborted
+            }
+         }
+      });
+
+      try {
+         run.await();
+      } finally {
+         for (StageStatistics stats : statistics)
+            stats.end();
+      }
+   }
+
+
+   /**
+    * Statistics of the last run, one entry per stage
+    * (split, tokenize, tag, write).
+    * @return Statistics for each stage.
+    */
+   public StageStatistics[] getStatistics () {
+      return statistics;
+   }
+
+
+
+   /**
+    * Build a sentence without dependency structure from tokens and tags.
+    * Lemma and deprel are empty ("_").
+    * @param tokens Tokens of the sentence.
+    * @param tags POS tags of the tokens.
+    * @return A sentence.
+    */
+   static Sentence createSentence (String[] tokens, String[] tags) {
+      Sentence sentence = new Sentence();
+      for (int j=0; j<tokens.length; j++) {
+         sentence.addWord(new Word(j+1, tokens[j], "_", tags[j], 0, "_"));
+      }
+      return sentence;
+   }
+
+
+
+   // ======= Helper classes =======
+
+
+   /**
+    * One document on its way through the pipeline.
+    */
+   private static class Item {
+
+      /**
+       * Marks the end of the input.
+       */
+      static final Item END = new Item(-1, null);
+
+      final long number;
+      final String text;
+      TextSpan[] sentences;
+      String[][] tokens;
+      String[][] tags;
+
+      Item (long number, String text) {
+         this.number = number;
+         this.text = text;
+      }
+
+      /**
+       * Build sentences from tokens and tags.
+       * @return One sentence per sentence span.
+       */
+      List<Sentence> toSentences () {
+         List<Sentence> result = new ArrayList<Sentence>(tokens.length);
+         for (int i=0; i<tokens.length; i++) {
+            result.add(createSentence(tokens[i], tags[i]));
+         }
+         return result;
+      }
+
+   }
+
+
+   /**
+    * One thread of a stage: take documents from the input queue,
+    * process them, put them in the output queue.
+    * The last worker of a stage to finish tells the next stage
+    * that there is no more input.
+    */
+   private abstract static class StageWorker implements Runnable {
+
+      private final BlockingQueue<Item> in;
+      private final BlockingQueue<Item> out;
+      private final AtomicInteger workersLeft;
+      private final int nextStageWorkers;
+      private final StageStatistics stats;
+
+      StageWorker (BlockingQueue<Item> in, BlockingQueue<Item> out,
+            AtomicInteger workersLeft, int nextStageWorkers, StageStatistics stats) {
+         this.in = in;
+         this.out = out;
+         this.workersLeft = workersLeft;
+         this.nextStageWorkers = nextStageWorkers;
+         this.stats = stats;
+      }
+
+      abstract void process (Item document);
+
+      @Override
+      public void run() {
+         try {
+            for (Item document = in.take(); document != Item.END; document = in.take()) {
+               long start = System.nanoTime();
+               process(document);
+               stats.add(document, System.nanoTime() - start);
+               long startWait = System.nanoTime();
+               out.put(document);
+               stats.blockedNanos.addAndGet(System.nanoTime() - startWait);
+            }
+            if (workersLeft.decrementAndGet() == 0) {
+               for (int i=0; i<nextStageWorkers; i++)
+                  out.put(Item.END);
+            }
+         } catch (InterruptedException e) {
+            // aborted
+         }
+      }
+
+   }
+
+
+   /**
+    * All threads of one run.
+    * If one thread fails, all others are stopped
+    * and the error is passed on to the caller.
+    */
+   private static class Run {
+
+      private final ExecutorService executor;
+      private final CountDownLatch finished;
+      private volatile Throwable error;
+
+      Run (int threads) {
+         executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("pipeline"));
+         finished = new CountDownLatch(threads);
+      }
+
+      void submit (final Runnable task) {
+         executor.execute(new Runnable() {
+            @Override
+            public void run() {
+               try {
+                  task.run();
+               } catch (Throwable t) {
+                  if (error == null)
+                     error = t;
+                  executor.shutdownNow();
+                  while (finished.getCount() > 0)
+                     finished.countDown();
+               } finally {
+                  finished.countDown();
+               }
+            }
+         });
+      }
+
+      void await () throws InterruptedException {
+         try {
+            finished.await();
+         } catch (InterruptedException e) {
+            executor.shutdownNow();
+            throw e;
+         }
+         executor.shutdown();
+         if (error != null)
+            throw new RuntimeException("Error in preprocessing pipeline", error);
+      }
+
+   }
+
+
+   /**
+    * Throughput of one stage of the pipeline.
+    */
+   public static class StageStatistics {
+
+      private final String name;
+      private final int threads;
+      private final long startTime = System.nanoTime();
+      private volatile long endTime = 0;
+      private final AtomicLong documents = new AtomicLong();
+      private final AtomicLong sentences = new AtomicLong();
+      private final AtomicLong busyNanos = new AtomicLong();
+      private final AtomicLong blockedNanos = new AtomicLong();
+
+      StageStatistics (String name, int threads) {
+         this.name = name;
+         this.threads = threads;
+      }
+
+      void add (Item document, long nanos) {
+         documents.incrementAndGet();
+         if (document.sentences != null)
+            sentences.addAndGet(document.sentences.length);
+         busyNanos.addAndGet(nanos);
+      }
+
+      void end () {
+         endTime = System.nanoTime();
+      }
+
+      /**
+       * @return Name of the stage.
+       */
+      public String getName() {
+         return name;
+      }
+
+      /**
+       * @return Number of threads of the stage.
+       */
+      public int getThreads() {
+         return threads;
+      }
+
+      /**
+       * @return Number of documents processed.
+       */
+      public long getDocuments() {
+         return documents.get();
+      }
+
+      /**
+       * @return Number of sentences processed.
+       */
+      public long getSentences() {
+         return sentences.get();
+      }
+
+      /**
+       * @return Time spent processing (sum over all threads) in nanoseconds.
+       */
+      public long getBusyNanos() {
+         return busyNanos.get();
+      }
+
+      /**
+       * @return Time spent waiting because the next stage was full
+       *    (sum over all threads) in nanoseconds.
+       */
+      public long getBlockedNanos() {
+         return blockedNanos.get();
+      }
+
+      /**
+       * Sentences per second one thread of this stage can process.
+       * The stage with the lowest value times threads is the bottleneck.
+       * @return Sentences per second and thread.
+       */
+      public double getSentencesPerThreadSecond() {
+         long busy = busyNanos.get();
+         return busy == 0 ? 0 : sentences.get() * 1e9 / busy;
+      }
+
+      /**
+       * Fraction of the time the threads of this stage were busy
+       * since the start of the run (1 = all threads always busy).
+       * @return Utilization between 0 and 1.
+       */
+      public double getUtilization() {
+         long elapsed = (endTime == 0 ? System.nanoTime() : endTime) - startTime;
+         return elapsed == 0 ? 0 : (double) busyNanos.get() / elapsed / threads;
+      }
+
+      /**
+       * @return One line with all numbers.
+       */
+      public String toString() {
+         return String.format("%-8s threads=%d docs=%d sents=%d sents/thread/s=%.1f utilization=%.2f blocked=%.1fs",
+               name, threads, documents.get(), sentences.get(),
+               getSentencesPerThreadSecond(), getUtilization(), blockedNanos.get() / 1e9);
+      }
+
+   }
+
+}
@@ -0,0 +1,357 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * Simple and fast tokenizer that works with rules only (no model files).
+ * Can be used for clean text or if the models are not available.
+ *
+ * Tokens are split roughly like the Stanford PTB tokenizer does:
+ * <ul>
+ * <li>punctuation is split off ("...", "--", "!!" stay together),</li>
+ * <li>contractions are split ("don't" = "do" + "n't", "I'm" = "I" + "'m"),</li>
+ * <li>hyphenated words, numbers ("1,000.5", "10:30", "1/2"),
+ *     abbreviations ("U.S.", "Mr."), e-mail addresses and URLs are kept together.</li>
+ * </ul>
+ * Unlike TokenizerStanford, the tokens are always the text they cover
+ * (no "-LRB-" or "``"), the positions are the same.
+ *
+ * Characters are looked up in a table that is filled once.
+ * The tokenizer has no state, so one instance can be used by several threads.
+ *
+ * @author kesslewd
+ */
+public class RuleBasedTokenizer extends Tokenizer {
+
+   // Character classes
+   private static final byte SPACE = 0;
+   private static final byte LETTER = 1;
+   private static final byte DIGIT = 2;
+   private static final byte APOSTROPHE = 3;
+   private static final byte PERIOD = 4;
+   private static final byte HYPHEN = 5;
+   private static final byte COMMA = 6;
+   private static final byte EXCLAMATION = 7; // '!' and '?'
+   private static final byte OTHER = 8;
+
+   /**
+    * Class of each character in the Basic Multilingual Plane.
+    */
+   private static final byte[] CLASSES = new byte[Character.MAX_VALUE + 1];
+
+   static {
+      for (int c=0; c<CLASSES.length; c++) {
+         CLASSES[c] = classify(c);
+      }
+   }
+
+   /**
+    * Words that are abbreviations if followed by a period.
+    */
+   private static final Set<String> ABBREVIATIONS = new HashSet<String>(Arrays.asList(
+         "Mr", "Mrs", "Ms", "Dr", "Prof", "St", "Jr", "Sr", "Mt", "vs", "etc",
+         "Inc", "Ltd", "Co", "Corp", "Jan", "Feb", "Mar", "Apr", "Jun", "Jul", "Aug",
+         "Sep", "Sept", "Oct", "Nov", "Dec", "No", "Gen", "Gov", "Rep", "Sen"));
+
+   /**
+    * Beginnings of URLs.
+    */
+   private static final String[] URL_PREFIXES = {"http://", "https://", "ftp://", "www."};
+
+
+   // ======= Tokenizer =======
+
+
+   /**
+    * Split one sentence into tokens.
+    * @param sentence The sentence.
+    * @return List of tokens.
+    */
+   public String[] tokenize (String sentence) {
+      return tokenize(sentence, new TokenizationResult()).getTokens();
+   }
+
+
+   /**
+    * Split one sentence into tokens, return TextSpans.
+    * @param sentence The sentence.
+    * @return List of spans with the start/end positions of each token
+    *    and the token as covered text.
+    */
+   public TextSpan[] getTokenizationSpans (String sentence) {
+      return tokenize(sentence, new TokenizationResult()).toTextSpans();
+   }
+
+
+   /**
+    * Split one sentence into tokens, put the spans in the given list.
+    * @param sentence The sentence.
+    * @param result Where to put the start/end positions of each token (emptied before).
+    * @return The span list given as parameter.
+    */
+   public SpanArray getTokenizationSpans (String sentence, SpanArray result) {
+      result.reset(sentence);
+      scan(sentence, result);
+      return result;
+   }
+
+
+   /**
+    * Split one sentence into tokens, get tokens and positions at once.
+    * The token strings are only created when asked for.
+    * @param sentence The sentence.
+    * @param result Where to put the tokens and their positions (emptied before).
+    * @return The result object given as parameter.
+    */
+   public TokenizationResult tokenize (String sentence, TokenizationResult result) {
+      getTokenizationSpans(sentence, result);
+      return result;
+   }
+
+
+   /**
+    * Nothing to close.
+    */
+   @Override
+   public void close () {
+   }
+
+
+   // ======= Rules =======
+
+
+   /**
+    * Find all tokens in the text and add them to the list.
+    * @param s The text.
+    * @param result Where to put the tokens.
+    */
+   private static void scan (String s, SpanArray result) {
+      int n = s.length();
+      int i = 0;
+      while (i < n) {
+         byte c = classAt(s, i);
+         int end;
+         if (c == SPACE) {
+            i += Character.charCount(s.codePointAt(i));
+            continue;
+         } else if (c == LETTER || c == DIGIT) {
+            end = isURLStart(s, i) ? scanURL(s, i) : scanWord(s, i);
+         } else if (c == APOSTROPHE) {
+            end = cliticEnd(s, i);
+            if (end < 0)
+               end = scanRun(s, i);
+         } else if (c == PERIOD || c == HYPHEN || c == EXCLAMATION || s.charAt(i) == '`') {
+            end = scanRun(s, i);
+         } else {
+            end = i + Character.charCount(s.codePointAt(i));
+         }
+         result.add(i, end);
+
+         // contraction directly after a word
+         if (c == LETTER && end < n) {
+            int clitic = cliticEnd(s, end);
+            if (clitic > 0) {
+               result.add(end, clitic);
+               end = clitic;
+            }
+         }
+         i = end;
+      }
+   }
+
+
+   /**
+    * Find the end of a word or number starting at 'begin'.
+    * Stops before contractions.
+    */
+   private static int scanWord (String s, int begin) {
+      int n = s.length();
+      int i = begin;
+      boolean innerPeriod = false;
+      while (i < n) {
+         byte c = classAt(s, i);
+         if (c == LETTER || c == DIGIT) {
+            i += Character.charCount(s.codePointAt(i));
+            continue;
+         }
+         if (i+1 >= n)
+            break;
+         byte prev = classBefore(s, i);
+         byte next = classAt(s, i+1);
+         boolean alnumNext = (next == LETTER || next == DIGIT);
+         char ch = s.charAt(i);
+
+         if (c == APOSTROPHE) {
+            if (cliticEnd(s, i) > 0)
+               break;
+            if (i-1 > begin && (s.charAt(i-1) == 'n' || s.charAt(i-1) == 'N') && cliticEnd(s, i-1) > 0)
+               return i-1; // "don't" = "do" + "n't"
+            if (next != LETTER) // "o'clock", "O'Neil"
+               break;
+         } else if (c == PERIOD) {
+            if (!alnumNext) // "U.S", "3.14", "example.com"
+               break;
+            innerPeriod = true;
+         } else if (c == HYPHEN || ch == '@' || ch == '&') {
+            if (!alnumNext) // "well-known", "me@example.com", "AT&T"
+               break;
+         } else if (c == COMMA || ch == ':' || ch == '/') {
+            if (prev != DIGIT || next != DIGIT) // "1,000", "10:30", "1/2"
+               break;
+         } else {
+            break;
+         }
+         i++;
+      }
+
+      // abbreviation: take the following period
+      if (i < n && s.charAt(i) == '.'
+            && (innerPeriod && s.charAt(i-2) == '.' && classBefore(s, i) == LETTER // "U.S."
+                  || ABBREVIATIONS.contains(s.substring(begin, i)))) {
+         i++;
+      }
+      return i;
+   }
+
+
+   /**
+    * Find the end of a URL starting at 'begin' (the next whitespace),
+    * punctuation at the end is not part of the URL.
+    */
+   private static int scanURL (String s, int begin) {
+      int i = begin;
+      while (i < s.length() && classAt(s, i) != SPACE) {
+         i++;
+      }
+      while (i > begin+1 && ".,;:!?)]}\"'".indexOf(s.charAt(i-1)) >= 0) {
+         i--;
+      }
+      return i;
+   }
+
+
+   /**
+    * Find the end of a run of the same character starting at 'begin' ("...", "--", "!!").
+    */
+   private static int scanRun (String s, int begin) {
+      char first = s.charAt(begin);
+      int i = begin+1;
+      while (i < s.length() && s.charAt(i) == first) {
+         i++;
+      }
+      return i;
+   }
+
+
+   /**
+    * Is there a contraction ("n't", "'s", "'m", "'d", "'re", "'ll", "'ve")
+    * starting at this position?
+    * @return End of the contraction, -1 if there is none.
+    */
+   private static int cliticEnd (String s, int begin) {
+      int n = s.length();
+      int i = begin;
+      char c = s.charAt(i);
+      if (c == 'n' || c == 'N') {
+         if (i+2 >= n || classAt(s, i+1) != APOSTROPHE || Character.toLowerCase(s.charAt(i+2)) != 't')
+            return -1;
+         i += 3;
+      } else if (classAt(s, i) == APOSTROPHE && i+1 < n) {
+         char c1 = Character.toLowerCase(s.charAt(i+1));
+         char c2 = (i+2 < n) ? Character.toLowerCase(s.charAt(i+2)) : ' ';
+         if (c1 == 's' || c1 == 'm' || c1 == 'd') {
+            i += 2;
+         } else if ((c1 == 'r' && c2 == 'e') || (c1 == 'l' && c2 == 'l') || (c1 == 'v' && c2 == 'e')) {
+            i += 3;
+         } else {
+            return -1;
+         }
+      } else {
+         return -1;
+      }
+      if (i < n) {
+         byte after = classAt(s, i);
+         if (after == LETTER || after == DIGIT)
+            return -1;
+      }
+      return i;
+   }
+
+
+   /**
+    * Does a URL start at this position?
+    */
+   private static boolean isURLStart (String s, int begin) {
+      for (String prefix : URL_PREFIXES) {
+         if (s.regionMatches(true, begin, prefix, 0, prefix.length()))
+            return true;
+      }
+      return false;
+   }
+
+
+   // ======= Character classes =======
+
+
+   /**
+    * @return Class of the character (or surrogate pair) at this position.
+    */
+   private static byte classAt (String s, int index) {
+      char c = s.charAt(index);
+      if (Character.isHighSurrogate(c))
+         return classify(s.codePointAt(index));
+      return CLASSES[c];
+   }
+
+   /**
+    * @return Class of the character (or surrogate pair) before this position.
+    */
+   private static byte classBefore (String s, int index) {
+      char c = s.charAt(index-1);
+      if (Character.isLowSurrogate(c))
+         return classify(s.codePointBefore(index));
+      return CLASSES[c];
+   }
+
+
+   /**
+    * Find the class of a character (used to fill the table).
+    * @param codePoint A Unicode code point.
+    * @return The class.
+    */
+   private static byte classify (int codePoint) {
+      switch (codePoint) {
+      case '\'': case '\u2019':
+         return APOSTROPHE;
+      case '.':
+         return PERIOD;
+      case '-':
+         return HYPHEN;
+      case ',':
+         return COMMA;
+      case '!': case '?':
+         return EXCLAMATION;
+      }
+      if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint))
+         return SPACE;
+      if (Character.isDigit(codePoint))
+         return DIGIT;
+      int type = Character.getType(codePoint);
+      if (Character.isLetter(codePoint)
+            || type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK)
+         return LETTER;
+      return OTHER;
+   }
+
+
+}
@@ -22,5 +22,24 @@ public abstract class SentenceSplitter implements Closeable {
     */
    public abstract TextSpan[] split (String document);
 
+
+   /**
+    * Split the string into sentences, put the spans in the given list.
+    * The list is emptied and filled, so it can be reused
+    * for the next document.
+    * This implementation uses 'split', subclasses
+    * should fill the list directly from their splitter.
+    * @param document The test of the whole document.
+    * @param result Where to put the start/end positions of each sentence.
+    * @return The span list given as parameter.
+    */
+   public SpanArray split (String document, SpanArray result) {
+      result.reset(document);
+      for (TextSpan span : split(document)) {
+         result.add(span.begin, span.end);
+      }
+      return result;
+   }
+
    
 }
@@ -59,6 +59,22 @@ public class SentenceSplitterOpenNLP extends SentenceSplitter {
    }
    
 
+   /**
+    * Split the string into sentences with OpenNLP,
+    * put the spans in the given list (emptied before).
+    * @param document The test of the whole document.
+    * @param result Where to put the start/end positions of each sentence.
+    * @return The span list given as parameter.
+    */
+   public SpanArray split(String document, SpanArray result) {
+      result.reset(document);
+      for (opennlp.tools.util.Span sentenceOpenNLPSpan : sentenceDetector.sentPosDetect(document)) {
+         result.add(sentenceOpenNLPSpan.getStart(), sentenceOpenNLPSpan.getEnd());
+      }
+      return result;
+   }
+   
+
    /**
     * Implment Closeable.
     * Close all open resources.
@@ -50,12 +50,12 @@ public class SentenceSplitterStanford extends SentenceSplitter {
       for(List<HasWord> sent:dp){
          CoreLabel firstword = (CoreLabel) sent.get(0);
          CoreLabel lastword = (CoreLabel) sent.get(sent.size()-1);
-         String coveredText = "";
+         StringBuilder coveredText = new StringBuilder();
          for (int i=0; i<sent.size(); i++) {
             CoreLabel word = (CoreLabel) sent.get(i);
-            coveredText += word.value() + " "; 
+            coveredText.append(word.value()).append(' '); 
          }
-         sentenceSpansList.add(new TextSpan(firstword.beginPosition(),lastword.endPosition(), coveredText));
+         sentenceSpansList.add(new TextSpan(firstword.beginPosition(),lastword.endPosition(), coveredText.toString()));
       }
       
       return sentenceSpansList.toArray(new TextSpan[0]) ;
@@ -63,6 +63,55 @@ public class SentenceSplitterStanford extends SentenceSplitter {
    }
    
    
+   /**
+    * Split the string into sentences with Stanford,
+    * put the spans in the given list (emptied before).
+    * @param document The test of the whole document.
+    * @param result Where to put the start/end positions of each sentence.
+    * @return The span list given as parameter.
+    */
+   public SpanArray split (String document, SpanArray result) {
+      result.reset(document);
+      DocumentPreprocessor dp = new DocumentPreprocessor(new StringReader(document));
+      dp.setTokenizerFactory(ptbTokenizerFactory);
+      for(List<HasWord> sent:dp){
+         CoreLabel firstword = (CoreLabel) sent.get(0);
+         CoreLabel lastword = (CoreLabel) sent.get(sent.size()-1);
+         result.add(firstword.beginPosition(), lastword.endPosition());
+      }
+      return result;
+   }
+   
+   
+   /**
+    * Split the string into sentences and tokens with Stanford,
+    * using only one tokenizer run over the document.
+    * The tokenizer options are those of the sentence splitter,
+    * which keep untokenizable characters (TokenizerStanford deletes them).
+    * @param document The test of the whole document.
+    * @return One result per sentence with the tokens and their start/end positions
+    *    in the document. The sentence goes from the begin of the first token
+    *    to the end of the last token.
+    */
+   public TokenizationResult[] splitAndTokenize (String document) {
+      DocumentPreprocessor dp = new DocumentPreprocessor(new StringReader(document));
+      dp.setTokenizerFactory(ptbTokenizerFactory);
+      
+      ArrayList<TokenizationResult> sentences = new ArrayList<TokenizationResult>();
+      for(List<HasWord> sent:dp){
+         TokenizationResult tokens = new TokenizationResult(sent.size());
+         tokens.reset(document);
+         for (int i=0; i<sent.size(); i++) {
+            CoreLabel word = (CoreLabel) sent.get(i);
+            tokens.add(word.beginPosition(), word.endPosition(), word.word());
+         }
+         sentences.add(tokens);
+      }
+      
+      return sentences.toArray(new TokenizationResult[sentences.size()]);
+   }
+   
+   
    /**
     * Implment Closeable.
     * Close all open resources.
@@ -0,0 +1,196 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+
+/**
+ * A list of text spans over one text, stored in two int arrays
+ * instead of one TextSpan object per span.
+ * The covered text is not copied, it is given as a view into the text.
+ * 
+ * Can be filled directly by tokenizers and sentence splitters
+ * (see Tokenizer.getTokenizationSpans(String, SpanArray) and
+ * SentenceSplitter.split(String, SpanArray)) and reused for the next text.
+ * 
+ * @author kesslewd
+ */
+public class SpanArray {
+
+   /**
+    * The text the spans refer to.
+    */
+   protected CharSequence text = "";
+
+   /**
+    * Number of spans.
+    */
+   protected int size = 0;
+
+   /**
+    * Start of each span.
+    */
+   protected int[] begins;
+
+   /**
+    * End of each span (+1 more than the last character).
+    */
+   protected int[] ends;
+
+
+   /**
+    * Create an empty span list.
+    */
+   public SpanArray () {
+      this(32);
+   }
+
+   /**
+    * Create an empty span list.
+    * @param capacity Expected number of spans.
+    */
+   public SpanArray (int capacity) {
+      capacity = Math.max(1, capacity);
+      begins = new int[capacity];
+      ends = new int[capacity];
+   }
+
+
+   /**
+    * Convert TextSpans (their covered text is not used).
+    * @param spans The spans.
+    * @param text The text the spans refer to.
+    * @return A new span list.
+    */
+   public static SpanArray fromTextSpans (TextSpan[] spans, CharSequence text) {
+      SpanArray result = new SpanArray(spans.length);
+      result.reset(text);
+      for (TextSpan span : spans) {
+         result.add(span.begin, span.end);
+      }
+      return result;
+   }
+
+
+   // ======= Filling =======
+
+
+   /**
+    * Remove all spans, start with a new text.
+    * @param text The text the spans will refer to.
+    */
+   public void reset (CharSequence text) {
+      this.text = text;
+      this.size = 0;
+   }
+
+
+   /**
+    * Add a span at the end of the list.
+    * @param begin start of span.
+    * @param end end of span, which is +1 more than the last element in the span.
+    */
+   public void add (int begin, int end) {
+      if (size == begins.length) {
+         resize(2 * size);
+      }
+      begins[size] = begin;
+      ends[size] = end;
+      size++;
+   }
+
+
+   /**
+    * Make the arrays larger.
+    * Subclasses with additional arrays have to resize them as well.
+    * @param capacity New number of spans that fit in.
+    */
+   protected void resize (int capacity) {
+      begins = Arrays.copyOf(begins, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+   }
+
+
+   // ======= Access =======
+
+
+   /**
+    * @return The text the spans refer to.
+    */
+   public CharSequence getText () {
+      return text;
+   }
+
+   /**
+    * @return Number of spans.
+    */
+   public int size () {
+      return size;
+   }
+
+   /**
+    * @param index Span index (starting with 0).
+    * @return Start of the span.
+    */
+   public int getBegin (int index) {
+      checkIndex(index);
+      return begins[index];
+   }
+
+   /**
+    * @param index Span index (starting with 0).
+    * @return End of the span, which is +1 more than the last element in the span.
+    */
+   public int getEnd (int index) {
+      checkIndex(index);
+      return ends[index];
+   }
+
+   /**
+    * Get the text covered by a span without copying it.
+    * @param index Span index (starting with 0).
+    * @return A read-only view of the text from begin to end.
+    */
+   public CharSequence getCoveredText (int index) {
+      checkIndex(index);
+      return CharBuffer.wrap(text, begins[index], ends[index]);
+   }
+
+   /**
+    * Convert to TextSpans (with copies of the covered text).
+    * @return One new TextSpan per span.
+    */
+   public TextSpan[] toTextSpans () {
+      TextSpan[] result = new TextSpan[size];
+      for (int i=0; i<size; i++) {
+         result[i] = new TextSpan(begins[i], ends[i], text.subSequence(begins[i], ends[i]).toString());
+      }
+      return result;
+   }
+
+   /**
+    * @return [begin, end) for all spans.
+    */
+   public String toString () {
+      StringBuilder str = new StringBuilder();
+      for (int i=0; i<size; i++) {
+         str.append('[').append(begins[i]).append(", ").append(ends[i]).append(')');
+      }
+      return str.toString();
+   }
+
+
+   protected void checkIndex (int index) {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException("Span " + index + ", size " + size);
+   }
+
+
+}
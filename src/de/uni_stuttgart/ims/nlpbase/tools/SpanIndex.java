@@ -0,0 +1,311 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.util.Arrays;
+
+
+/**
+ * Finds the spans (tokens, sentences, ...) at a character offset
+ * or in a character range in O(log n) instead of checking every span.
+ * Use this to map stand-off annotations to tokens.
+ *
+ * The spans are sorted by begin. If they do not overlap (tokens, sentences),
+ * a binary search is enough. For overlapping spans the sorted array is used
+ * as a balanced binary tree where each node knows the largest end below it
+ * (interval tree), so only the subtrees that can contain matches are visited.
+ *
+ * All methods return the index of the span in the list the index was built from.
+ *
+ * @author kesslewd
+ */
+public class SpanIndex {
+
+   /**
+    * Begins of the spans, sorted.
+    */
+   private final int[] begins;
+
+   /**
+    * Ends of the spans, same order as begins.
+    */
+   private final int[] ends;
+
+   /**
+    * Largest end in the subtree below each node
+    * (node = middle of a range of the sorted array).
+    */
+   private final int[] maxEnds;
+
+   /**
+    * Original index of each sorted span, null if the input was already sorted.
+    */
+   private final int[] originalIndex;
+
+   /**
+    * True if no span overlaps the next one.
+    */
+   private final boolean disjoint;
+
+
+   /**
+    * Build an index over the spans.
+    * @param spans The spans.
+    */
+   public SpanIndex (SpanArray spans) {
+      this(copyBegins(spans), copyEnds(spans));
+   }
+
+   /**
+    * Build an index over the spans.
+    * @param spans The spans.
+    */
+   public SpanIndex (TextSpan[] spans) {
+      this(copyBegins(spans), copyEnds(spans));
+   }
+
+   /**
+    * Build an index over the spans (arrays are taken over, not copied).
+    * @param begins Begin of each span.
+    * @param ends End of each span.
+    */
+   private SpanIndex (int[] begins, int[] ends) {
+      int n = begins.length;
+
+      boolean sorted = true;
+      for (int i=1; i<n && sorted; i++) {
+         sorted = begins[i-1] <= begins[i];
+      }
+      if (sorted) {
+         this.begins = begins;
+         this.ends = ends;
+         this.originalIndex = null;
+      } else {
+         long[] keys = new long[n];
+         for (int i=0; i<n; i++) {
+            keys[i] = ((long) begins[i] << 32) | i;
+         }
+         Arrays.sort(keys);
+         this.begins = new int[n];
+         this.ends = new int[n];
+         this.originalIndex = new int[n];
+         for (int i=0; i<n; i++) {
+            int index = (int) keys[i];
+            this.begins[i] = begins[index];
+            this.ends[i] = ends[index];
+            this.originalIndex[i] = index;
+         }
+      }
+
+      boolean noOverlap = true;
+      for (int i=1; i<n && noOverlap; i++) {
+         noOverlap = this.ends[i-1] <= this.begins[i];
+      }
+      this.disjoint = noOverlap;
+
+      this.maxEnds = new int[n];
+      buildMaxEnds(0, n);
+   }
+
+
+   private static int[] copyBegins (SpanArray spans) {
+      int[] result = new int[spans.size()];
+      for (int i=0; i<result.length; i++)
+         result[i] = spans.getBegin(i);
+      return result;
+   }
+
+   private static int[] copyEnds (SpanArray spans) {
+      int[] result = new int[spans.size()];
+      for (int i=0; i<result.length; i++)
+         result[i] = spans.getEnd(i);
+      return result;
+   }
+
+   private static int[] copyBegins (TextSpan[] spans) {
+      int[] result = new int[spans.length];
+      for (int i=0; i<result.length; i++)
+         result[i] = spans[i].begin;
+      return result;
+   }
+
+   private static int[] copyEnds (TextSpan[] spans) {
+      int[] result = new int[spans.length];
+      for (int i=0; i<result.length; i++)
+         result[i] = spans[i].end;
+      return result;
+   }
+
+
+   /**
+    * Fill maxEnds for the tree over the range [lo,hi) of the sorted spans.
+    * @return Largest end in the range (Integer.MIN_VALUE if empty).
+    */
+   private int buildMaxEnds (int lo, int hi) {
+      if (lo >= hi)
+         return Integer.MIN_VALUE;
+      int mid = (lo + hi) >>> 1;
+      int max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid+1, hi)));
+      maxEnds[mid] = max;
+      return max;
+   }
+
+
+   // ======= Lookup =======
+
+
+   /**
+    * @return Number of spans in the index.
+    */
+   public int size () {
+      return begins.length;
+   }
+
+
+   /**
+    * Find a span that contains the offset.
+    * @param offset Character offset.
+    * @return Index of the span, -1 if there is none.
+    *    If several spans contain the offset, the one with the largest begin.
+    */
+   public int find (int offset) {
+      if (disjoint) {
+         int i = lastBeginAtOrBefore(offset);
+         return (i >= 0 && ends[i] > offset) ? toOriginal(i) : -1;
+      }
+      int[] found = overlappingPositions(offset, offset+1);
+      return found.length == 0 ? -1 : toOriginal(found[found.length-1]);
+   }
+
+
+   /**
+    * Find all spans that overlap the range (share at least one character).
+    * @param begin Start of the range.
+    * @param end End of the range (+1 more than the last character).
+    * @return Indices of the spans, in order of their begin.
+    */
+   public int[] findOverlapping (int begin, int end) {
+      return toOriginal(overlappingPositions(begin, end));
+   }
+
+
+   /**
+    * Find all spans that contain the whole range
+    * (e.g., the sentence an annotation is in).
+    * @param begin Start of the range.
+    * @param end End of the range (+1 more than the last character).
+    * @return Indices of the spans, in order of their begin.
+    */
+   public int[] findContaining (int begin, int end) {
+      int[] positions = overlappingPositions(begin, Math.max(end, begin+1));
+      int count = 0;
+      for (int position : positions) {
+         if (begins[position] <= begin && ends[position] >= end)
+            positions[count++] = position;
+      }
+      return toOriginal(Arrays.copyOf(positions, count));
+   }
+
+
+   /**
+    * Find all spans that overlap the range.
+    * @param begin Start of the range.
+    * @param end End of the range (+1 more than the last character).
+    * @return Positions in the sorted arrays, ascending.
+    */
+   private int[] overlappingPositions (int begin, int end) {
+      if (disjoint) {
+         // first span that ends after begin, up to last that begins before end
+         int first = lastBeginAtOrBefore(begin);
+         if (first < 0 || ends[first] <= begin)
+            first++;
+         int last = lastBeginAtOrBefore(end-1);
+         if (first > last)
+            return new int[0];
+         int[] result = new int[last-first+1];
+         for (int i=first; i<=last; i++)
+            result[i-first] = i;
+         return result;
+      }
+      Collector found = new Collector();
+      collectOverlapping(0, begins.length, begin, end, found);
+      return found.toArray();
+   }
+
+
+   /**
+    * Collect spans in [lo,hi) of the sorted array that overlap [begin,end).
+    * Goes left to right, so the result is sorted by begin.
+    */
+   private void collectOverlapping (int lo, int hi, int begin, int end, Collector found) {
+      if (lo >= hi)
+         return;
+      int mid = (lo + hi) >>> 1;
+      if (maxEnds[mid] <= begin) // nothing in this subtree ends late enough
+         return;
+      collectOverlapping(lo, mid, begin, end, found);
+      if (begins[mid] >= end) // everything right of here begins too late
+         return;
+      if (ends[mid] > begin)
+         found.add(mid);
+      collectOverlapping(mid+1, hi, begin, end, found);
+   }
+
+
+   /**
+    * Binary search.
+    * @param offset Character offset.
+    * @return Sorted position of the last span with begin &lt;= offset, -1 if there is none.
+    */
+   private int lastBeginAtOrBefore (int offset) {
+      int lo = 0;
+      int hi = begins.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (begins[mid] <= offset)
+            lo = mid+1;
+         else
+            hi = mid;
+      }
+      return lo-1;
+   }
+
+
+   private int toOriginal (int position) {
+      return originalIndex == null ? position : originalIndex[position];
+   }
+
+   private int[] toOriginal (int[] positions) {
+      if (originalIndex != null) {
+         for (int i=0; i<positions.length; i++)
+            positions[i] = originalIndex[positions[i]];
+      }
+      return positions;
+   }
+
+
+   /**
+    * Growing int list for results.
+    */
+   private static class Collector {
+      private int[] values = new int[8];
+      private int size = 0;
+
+      void add (int value) {
+         if (size == values.length)
+            values = Arrays.copyOf(values, 2 * size);
+         values[size++] = value;
+      }
+
+      int[] toArray () {
+         return Arrays.copyOf(values, size);
+      }
+   }
+
+
+}
@@ -0,0 +1,158 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+
+
+/**
+ * Splits a text into sentences while reading it, for documents
+ * that are too large to be loaded as one String.
+ * 
+ * Only a window of the text is kept in memory. The window is split
+ * with the given sentence splitter, all sentences except the last
+ * are returned, the last one (which may continue after the window)
+ * is split again together with the next part of the text.
+ * Sentences longer than the window are cut at the window end.
+ * 
+ * @author kesslewd
+ */
+public class StreamingSentenceSplitter implements Closeable {
+
+   /**
+    * Default window size in characters.
+    */
+   public static final int DEFAULT_WINDOW_SIZE = 1 << 16;
+
+   private final SentenceSplitter splitter;
+   private final Reader reader;
+   private final int windowSize;
+
+   /**
+    * Current window.
+    */
+   private final StringBuilder window = new StringBuilder();
+
+   /**
+    * Offset of the first character of the window in the whole text.
+    */
+   private long windowOffset = 0;
+
+   /**
+    * Read buffer.
+    */
+   private final char[] buffer = new char[8192];
+
+   /**
+    * True once the reader has returned everything.
+    */
+   private boolean endOfInput = false;
+
+   /**
+    * Sentences found but not yet returned.
+    */
+   private final ArrayDeque<LongTextSpan> pending = new ArrayDeque<LongTextSpan>();
+
+
+   /**
+    * Split a text read from a Reader.
+    * @param splitter The sentence splitter to use.
+    * @param reader Where the text comes from.
+    * @param windowSize Number of characters kept in memory
+    *    (should be much longer than any sentence).
+    */
+   public StreamingSentenceSplitter (SentenceSplitter splitter, Reader reader, int windowSize) {
+      this.splitter = splitter;
+      this.reader = reader;
+      this.windowSize = windowSize;
+   }
+
+   /**
+    * Split a text read from a channel (e.g., a FileChannel).
+    * @param splitter The sentence splitter to use.
+    * @param channel Where the text comes from.
+    * @param encoding The character encoding (UTF-8 or whatever)
+    * @param windowSize Number of characters kept in memory
+    *    (should be much longer than any sentence).
+    */
+   public StreamingSentenceSplitter (SentenceSplitter splitter, ReadableByteChannel channel, Charset encoding, int windowSize) {
+      this(splitter, Channels.newReader(channel, encoding.newDecoder(), -1), windowSize);
+   }
+
+
+   /**
+    * Get the next sentence.
+    * @return Span with the start/end positions of the sentence
+    *    in the whole text and covered text, null at the end of the text.
+    * @throws IOException If reading fails.
+    */
+   public LongTextSpan nextSentence () throws IOException {
+      while (pending.isEmpty() && (!endOfInput || window.length() > 0)) {
+         fillWindow();
+         splitWindow();
+      }
+      return pending.poll();
+   }
+
+
+   /**
+    * Read until the window is full or the text ends.
+    * @throws IOException If reading fails.
+    */
+   private void fillWindow () throws IOException {
+      while (!endOfInput && window.length() < windowSize) {
+         int read = reader.read(buffer, 0, Math.min(buffer.length, windowSize - window.length()));
+         if (read < 0)
+            endOfInput = true;
+         else
+            window.append(buffer, 0, read);
+      }
+   }
+
+
+   /**
+    * Split the window and keep the text that is not finished yet.
+    */
+   private void splitWindow () {
+      String text = window.toString();
+      TextSpan[] sentences = splitter.split(text);
+
+      // Is the last sentence complete?
+      // Only know that at the end of the text, or if it does not
+      // start at the beginning of the window (so it fits in the next one).
+      int complete = sentences.length;
+      if (!endOfInput && complete > 1)
+         complete--;
+
+      for (int i=0; i<complete; i++) {
+         pending.add(new LongTextSpan(windowOffset + sentences[i].begin, windowOffset + sentences[i].end,
+               sentences[i].getCoveredText(text)));
+      }
+
+      int keepFrom = (complete < sentences.length) ? sentences[complete].begin : text.length();
+      window.delete(0, keepFrom);
+      windowOffset += keepFrom;
+   }
+
+
+   /**
+    * Implment Closeable.
+    * Closes the reader.
+    */
+   @Override
+   public void close() throws IOException {
+      reader.close();
+   }
+
+
+}
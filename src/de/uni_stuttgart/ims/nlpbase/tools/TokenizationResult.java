@@ -0,0 +1,124 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.util.Arrays;
+
+
+/**
+ * Tokens and their start/end positions from one tokenizer run.
+ * 
+ * Positions are kept in int arrays (see SpanArray), token Strings
+ * are only created when asked for (as substring of the text), unless
+ * the tokenizer sets a token that differs from the text (e.g., normalized quotes).
+ * The object can be reused for the next sentence to avoid allocation
+ * (see Tokenizer.tokenize(String, TokenizationResult)).
+ * 
+ * @author kesslewd
+ */
+public class TokenizationResult extends SpanArray {
+
+   /**
+    * Token strings, null entries are created from the text on demand.
+    */
+   private String[] tokens;
+
+
+   /**
+    * Create an empty result.
+    */
+   public TokenizationResult () {
+      this(32);
+   }
+
+   /**
+    * Create an empty result.
+    * @param capacity Expected number of tokens.
+    */
+   public TokenizationResult (int capacity) {
+      super(capacity);
+      tokens = new String[begins.length];
+   }
+
+
+   // ======= Filling =======
+
+
+   /**
+    * Remove all tokens, start with a new text.
+    * @param text The text that will be tokenized.
+    */
+   @Override
+   public void reset (CharSequence text) {
+      Arrays.fill(tokens, 0, size, null);
+      super.reset(text);
+   }
+
+
+   /**
+    * Add a token.
+    * @param begin start of the token.
+    * @param end end of the token, which is +1 more than the last character.
+    * @param token The token (null if it is the text from begin to end).
+    */
+   public void add (int begin, int end, String token) {
+      add(begin, end);
+      tokens[size-1] = token;
+   }
+
+
+   @Override
+   protected void resize (int capacity) {
+      super.resize(capacity);
+      tokens = Arrays.copyOf(tokens, capacity);
+   }
+
+
+   // ======= Access =======
+
+
+   /**
+    * Get the token, create the String if needed.
+    * @param index Token index (starting with 0).
+    * @return The token.
+    */
+   public String getToken (int index) {
+      checkIndex(index);
+      String token = tokens[index];
+      if (token == null) {
+         token = text.subSequence(begins[index], ends[index]).toString();
+         tokens[index] = token;
+      }
+      return token;
+   }
+
+   /**
+    * @return All tokens (new array).
+    */
+   public String[] getTokens () {
+      String[] result = new String[size];
+      for (int i=0; i<size; i++) {
+         result[i] = getToken(i);
+      }
+      return result;
+   }
+
+   /**
+    * @return All tokens as spans with the token as covered text (new objects).
+    */
+   @Override
+   public TextSpan[] toTextSpans () {
+      TextSpan[] result = new TextSpan[size];
+      for (int i=0; i<size; i++) {
+         result[i] = new TextSpan(begins[i], ends[i], getToken(i));
+      }
+      return result;
+   }
+
+
+}
@@ -32,4 +32,42 @@ public abstract class Tokenizer implements Closeable {
     */
    public abstract TextSpan[] getTokenizationSpans (String sentence);
 
+
+   /**
+    * Split one sentence into tokens, put the spans in the given list.
+    * The list is emptied and filled, so it can be reused
+    * for the next sentence.
+    * This implementation uses 'getTokenizationSpans', subclasses
+    * should fill the list directly from their tokenizer.
+    * @param sentence The sentence.
+    * @param result Where to put the start/end positions of each token.
+    * @return The span list given as parameter.
+    */
+   public SpanArray getTokenizationSpans (String sentence, SpanArray result) {
+      result.reset(sentence);
+      for (TextSpan span : getTokenizationSpans(sentence)) {
+         result.add(span.begin, span.end);
+      }
+      return result;
+   }
+
+
+   /**
+    * Split one sentence into tokens, get tokens and positions at once.
+    * The result object is emptied and filled, so it can be reused
+    * for the next sentence.
+    * This implementation uses 'getTokenizationSpans', subclasses
+    * should fill the result directly from their tokenizer.
+    * @param sentence The sentence.
+    * @param result Where to put the tokens and their positions.
+    * @return The result object given as parameter.
+    */
+   public TokenizationResult tokenize (String sentence, TokenizationResult result) {
+      result.reset(sentence);
+      for (TextSpan span : getTokenizationSpans(sentence)) {
+         result.add(span.begin, span.end, span.coveredText);
+      }
+      return result;
+   }
+
 }
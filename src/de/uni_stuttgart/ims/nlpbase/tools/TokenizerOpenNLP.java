@@ -76,6 +76,35 @@ public class TokenizerOpenNLP extends Tokenizer implements Closeable {
       return tokens;
    }
    
+
+   /**
+    * Split one sentences into tokens with OpenNLP tokenizer,
+    * put the spans in the given list (emptied before).
+    * @param sentence The sentence.
+    * @param result Where to put the start/end positions of each token.
+    * @return The span list given as parameter.
+    */
+   public SpanArray getTokenizationSpans(String sentence, SpanArray result) {
+      result.reset(sentence);
+      for (opennlp.tools.util.Span span : tokenizerOpenNLP.tokenizePos(sentence)) {
+         result.add(span.getStart(), span.getEnd());
+      }
+      return result;
+   }
+   
+
+   /**
+    * Split one sentence into tokens with OpenNLP tokenizer,
+    * get tokens and positions at once.
+    * @param sentence The sentence.
+    * @param result Where to put the tokens and their positions (emptied before).
+    * @return The result object given as parameter.
+    */
+   public TokenizationResult tokenize(String sentence, TokenizationResult result) {
+      getTokenizationSpans(sentence, result);
+      return result;
+   }
+   
    
    /**
     * Implment Closeable.
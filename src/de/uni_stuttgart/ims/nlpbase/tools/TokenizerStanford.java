@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.process.CoreLabelTokenFactory;
 import edu.stanford.nlp.process.PTBTokenizer;
+import edu.stanford.nlp.process.TokenizerFactory;
 
 
 /**
@@ -38,28 +39,24 @@ public class TokenizerStanford extends Tokenizer implements Closeable {
    // http://nlp.stanford.edu/software/tokenizer.shtml
 
    
+   /**
+    * Creates the tokenizers, shared by all calls.
+    */
+   private final TokenizerFactory<CoreLabel> ptbTokenizerFactory = PTBTokenizer.factory(new CoreLabelTokenFactory(), options);
+
+   
    /**
     * Split one sentences into tokens with Stanford tokenizer.
     * @param sentence The sentence.
     * @return List of tokens. 
     */
    public String[] tokenize (String sentence) {
-      StringReader reader=new StringReader(sentence);
-      String[] str = new String[0];
-      PTBTokenizer<CoreLabel> ptbt = new PTBTokenizer<CoreLabel>(reader,
-            new CoreLabelTokenFactory(), options);
+      edu.stanford.nlp.process.Tokenizer<CoreLabel> ptbt = ptbTokenizerFactory.getTokenizer(new StringReader(sentence));
       ArrayList<String> strList = new ArrayList<String>();
-      for (CoreLabel label; ptbt.hasNext(); ) {
-         label = ptbt.next();
-         strList.add(label.word());
-      }
-      
-      str = new String[strList.size()];
-      for (int i=0; i<strList.size(); i++) {
-         str[i] = strList.get(i);
+      while (ptbt.hasNext()) {
+         strList.add(ptbt.next().word());
       }
-
-      return str;
+      return strList.toArray(new String[strList.size()]);
    }
    
 
@@ -69,22 +66,56 @@ public class TokenizerStanford extends Tokenizer implements Closeable {
     * @return List of spans with the start/end positions of each token. 
     */
    public TextSpan[] getTokenizationSpans (String sentence) {
-      
-      StringReader reader=new StringReader(sentence);
-      PTBTokenizer<CoreLabel> ptbt = new PTBTokenizer<CoreLabel>(reader,
-            new CoreLabelTokenFactory(), options);
+      edu.stanford.nlp.process.Tokenizer<CoreLabel> ptbt = ptbTokenizerFactory.getTokenizer(new StringReader(sentence));
       ArrayList<TextSpan> spansList = new ArrayList<TextSpan>();
-      for (CoreLabel label; ptbt.hasNext(); ) {
-         label = ptbt.next();
+      while (ptbt.hasNext()) {
+         CoreLabel label = ptbt.next();
          spansList.add(new TextSpan(label.beginPosition(), label.endPosition(), label.word()));
       }
-      
-      TextSpan[] spans = new TextSpan[spansList.size()];
-      for (int i=0; i<spansList.size(); i++) {
-         spans[i] = spansList.get(i);
+      return spansList.toArray(new TextSpan[spansList.size()]);
+   }
+
+
+   /**
+    * Split one sentences into tokens with Stanford tokenizer,
+    * put the spans in the given list (emptied before).
+    * @param sentence The sentence.
+    * @param result Where to put the start/end positions of each token.
+    * @return The span list given as parameter.
+    */
+   public SpanArray getTokenizationSpans (String sentence, SpanArray result) {
+      result.reset(sentence);
+      edu.stanford.nlp.process.Tokenizer<CoreLabel> ptbt = ptbTokenizerFactory.getTokenizer(new StringReader(sentence));
+      while (ptbt.hasNext()) {
+         CoreLabel label = ptbt.next();
+         result.add(label.beginPosition(), label.endPosition());
       }
+      return result;
+   }
+
 
-      return spans;
+   /**
+    * Split one sentences into tokens with Stanford tokenizer,
+    * get tokens and positions in one pass.
+    * Only tokens that Stanford changed (e.g., "(" to "-LRB-") are kept,
+    * all others are cut from the text when they are asked for.
+    * @param sentence The sentence.
+    * @param result Where to put the tokens and their positions (emptied before).
+    * @return The result object given as parameter.
+    */
+   public TokenizationResult tokenize (String sentence, TokenizationResult result) {
+      result.reset(sentence);
+      edu.stanford.nlp.process.Tokenizer<CoreLabel> ptbt = ptbTokenizerFactory.getTokenizer(new StringReader(sentence));
+      while (ptbt.hasNext()) {
+         CoreLabel label = ptbt.next();
+         int begin = label.beginPosition();
+         int end = label.endPosition();
+         String word = label.word();
+         if (word != null && word.length() == end - begin && sentence.regionMatches(begin, word, 0, word.length()))
+            word = null; // same as the text
+         result.add(begin, end, word);
+      }
+      return result;
    }
 
 
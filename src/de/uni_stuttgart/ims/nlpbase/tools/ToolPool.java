@@ -0,0 +1,85 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.nlpbase.tools;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+
+/**
+ * A fixed set of tool instances (sentence splitters, tokenizers, taggers)
+ * shared by many threads.
+ * A thread has to acquire an instance before using it and release
+ * it afterwards, so every instance is used by at most one thread at a time
+ * and at most as many threads as there are instances do the expensive work.
+ *
+ * @param <T> Type of the tool.
+ * @author kesslewd
+ */
+public class ToolPool<T> {
+
+   /**
+    * Instances that are currently not in use.
+    */
+   private final ConcurrentLinkedQueue<T> free = new ConcurrentLinkedQueue<T>();
+
+   /**
+    * One permit per free instance.
+    */
+   private final Semaphore permits;
+
+   /**
+    * Number of instances.
+    */
+   private final int size;
+
+
+   /**
+    * Create a pool with the given instances.
+    * @param instances The tool instances (at least one).
+    */
+   public ToolPool (T[] instances) {
+      if (instances.length == 0)
+         throw new IllegalArgumentException("A pool needs at least one instance");
+      for (T instance : instances)
+         free.add(instance);
+      size = instances.length;
+      permits = new Semaphore(size, true);
+   }
+
+
+   /**
+    * Take an instance, wait until one is free.
+    * @return An instance that is not used by anybody else.
+    * @throws InterruptedException If interrupted while waiting.
+    */
+   public T acquire () throws InterruptedException {
+      permits.acquire();
+      return free.poll();
+   }
+
+
+   /**
+    * Give back an instance taken with 'acquire'.
+    * @param instance The instance.
+    */
+   public void release (T instance) {
+      free.add(instance);
+      permits.release();
+   }
+
+
+   /**
+    * @return Number of instances in the pool.
+    */
+   public int size () {
+      return size;
+   }
+
+
+}
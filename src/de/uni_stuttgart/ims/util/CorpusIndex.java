@@ -0,0 +1,560 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uni_stuttgart.ims.nlpbase.io.ParseReaderCoNLL;
+import de.uni_stuttgart.ims.nlpbase.nlp.SRLSentence;
+import de.uni_stuttgart.ims.nlpbase.nlp.Word;
+
+
+/**
+ * Index of all forms, lemmas and POS of a corpus in CoNLL format:
+ * for each of them, the sentences and words where it occurs.
+ *
+ * The occurrences (postings) of each term are stored as a list of
+ * (sentence number, word id) sorted by position, compressed as differences
+ * to the previous occurrence with a variable number of bytes
+ * (small numbers need one byte).
+ * Sentences are numbered from 0 in the order of the file, word ids are
+ * the ids in the file (starting with 1). The index remembers where
+ * each sentence starts in the file, so sentences can be read again directly
+ * (see 'getSentence').
+ *
+ * An index can be saved and loaded again. The size and modification time
+ * of the corpus are saved with it, an index is not loaded if the corpus
+ * was changed in the meantime.
+ * It cannot be changed after it is built, so it can be used by several threads at once.
+ *
+ * @author kesslewd
+ */
+public class CorpusIndex {
+
+   // Indexed attributes (same numbers as in StringWordMapping)
+   public static final int FORM = 0;
+   public static final int LEMMA = 1;
+   public static final int POS = 2;
+   private static final int FIELDS = 3;
+
+   /**
+    * Start of an index file.
+    */
+   private static final int MAGIC = 0x43494458; // "CIDX"
+   private static final int VERSION = 2;
+
+   /**
+    * Location of the corpus in CoNLL format.
+    */
+   private final String corpusFileName;
+
+   /**
+    * Size (in bytes) and modification time of the corpus when it was indexed.
+    */
+   private final long corpusLength;
+   private final long corpusModified;
+
+   /**
+    * Position of each sentence in the corpus (in bytes).
+    */
+   private final long[] offsets;
+
+   /**
+    * Postings of each term of each field.
+    */
+   private final List<Map<String, Postings>> fields;
+
+
+   /**
+    * Occurrences of one term.
+    */
+   private static class Postings {
+      /** number of occurrences */
+      int count;
+      /** compressed occurrences */
+      byte[] data;
+      int size;
+      // last occurrence (only used while building)
+      int lastSentence;
+      int lastWord;
+
+      Postings () {
+         data = new byte[8];
+      }
+
+      Postings (int count, byte[] data) {
+         this.count = count;
+         this.data = data;
+         this.size = data.length;
+      }
+
+      /**
+       * Add an occurrence, occurrences must be added in order.
+       * Written are the difference to the last sentence and
+       * the word id (difference to the last word if it is the same sentence).
+       */
+      void add (int sentence, int word) {
+         int sentenceDelta = sentence - lastSentence;
+         writeVarint(sentenceDelta);
+         writeVarint(sentenceDelta == 0 && count > 0 ? word - lastWord : word);
+         lastSentence = sentence;
+         lastWord = word;
+         count++;
+      }
+
+      private void writeVarint (int value) {
+         if (size + 5 > data.length)
+            data = Arrays.copyOf(data, data.length * 2);
+         while ((value & ~0x7F) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+         }
+         data[size++] = (byte) value;
+      }
+
+      void trim () {
+         if (size < data.length)
+            data = Arrays.copyOf(data, size);
+      }
+
+      /**
+       * Decode all occurrences.
+       * @return [sentence numbers, word ids]
+       */
+      int[][] decode () {
+         int[] sentences = new int[count];
+         int[] words = new int[count];
+         int position = 0;
+         int sentence = 0;
+         int word = 0;
+         for (int i=0; i<count; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+               b = data[position++];
+               value |= (b & 0x7F) << shift;
+               shift += 7;
+            } while (b < 0);
+            int sentenceDelta = value;
+
+            value = 0;
+            shift = 0;
+            do {
+               b = data[position++];
+               value |= (b & 0x7F) << shift;
+               shift += 7;
+            } while (b < 0);
+
+            sentence += sentenceDelta;
+            word = (sentenceDelta == 0 && i > 0) ? word + value : value;
+            sentences[i] = sentence;
+            words[i] = word;
+         }
+         return new int[][] {sentences, words};
+      }
+   }
+
+
+   /**
+    * One occurrence of a term or phrase.
+    */
+   public static class Posting {
+      private final int sentence;
+      private final int word;
+
+      Posting (int sentence, int word) {
+         this.sentence = sentence;
+         this.word = word;
+      }
+
+      /**
+       * @return Number of the sentence (starting with 0).
+       */
+      public int getSentence () {
+         return sentence;
+      }
+
+      /**
+       * @return Id of the (first) word in the sentence (starting with 1).
+       */
+      public int getWord () {
+         return word;
+      }
+
+      @Override
+      public String toString () {
+         return sentence + ":" + word;
+      }
+   }
+
+
+   private CorpusIndex (String corpusFileName, long corpusLength, long corpusModified,
+         long[] offsets, List<Map<String, Postings>> fields) {
+      this.corpusFileName = corpusFileName;
+      this.corpusLength = corpusLength;
+      this.corpusModified = corpusModified;
+      this.offsets = offsets;
+      this.fields = fields;
+   }
+
+
+   // ======= Building =======
+
+
+   /**
+    * Build the index of a corpus.
+    * Sentences that cannot be read (see ParseReaderCoNLL) are counted,
+    * but have no words in the index.
+    *
+    * @param corpusFileName Location of the corpus in CoNLL format.
+    * @return The index.
+    * @throws IOException If the corpus cannot be read.
+    */
+   public static CorpusIndex build (String corpusFileName) throws IOException {
+      File corpusFile = new File(corpusFileName);
+      long corpusLength = corpusFile.length();
+      long corpusModified = corpusFile.lastModified();
+      long[] offsets = findSentenceOffsets(corpusFileName);
+
+      List<Map<String, Postings>> fields = new ArrayList<Map<String, Postings>>(FIELDS);
+      for (int f=0; f<FIELDS; f++)
+         fields.add(new HashMap<String, Postings>());
+
+      ParseReaderCoNLL reader = new ParseReaderCoNLL(corpusFileName);
+      try {
+         reader.openFile();
+         for (int sentenceNumber=0; sentenceNumber<offsets.length; sentenceNumber++) {
+            SRLSentence sentence = reader.readParseOnlyDeps();
+            // Several empty lines between sentences give empty sentences
+            while (sentence != null && sentence.isEmpty())
+               sentence = reader.readParseOnlyDeps();
+
+            if (sentence == null) {
+               // Error in the sentence, continue with the next one
+               if (sentenceNumber + 1 < offsets.length)
+                  reader.openFileAt(offsets[sentenceNumber + 1]);
+               continue;
+            }
+
+            for (Word word : sentence.getWordList()) {
+               addPosting(fields.get(FORM), word.getForm(), sentenceNumber, word.getId());
+               addPosting(fields.get(LEMMA), word.getLemma(), sentenceNumber, word.getId());
+               addPosting(fields.get(POS), word.getPOS(), sentenceNumber, word.getId());
+            }
+         }
+      } finally {
+         reader.close();
+      }
+
+      for (Map<String, Postings> field : fields) {
+         for (Postings postings : field.values())
+            postings.trim();
+      }
+      return new CorpusIndex(corpusFileName, corpusLength, corpusModified, offsets, fields);
+   }
+
+
+   private static void addPosting (Map<String, Postings> field, String term, int sentence, int word) {
+      if (term == null)
+         return;
+      Postings postings = field.get(term);
+      if (postings == null) {
+         postings = new Postings();
+         field.put(term, postings);
+      }
+      postings.add(sentence, word);
+   }
+
+
+   /**
+    * Find the position of each sentence in the file:
+    * the first line that is not empty after an empty line (or at the start).
+    * Lines with only whitespace are empty (like in ParseReaderCoNLL).
+    */
+   private static long[] findSentenceOffsets (String corpusFileName) throws IOException {
+      long[] offsets = new long[1024];
+      int count = 0;
+      InputStream in = new BufferedInputStream(new FileInputStream(corpusFileName), 1 << 16);
+      try {
+         long position = 0;
+         long lineStart = 0;
+         boolean lineEmpty = true;
+         boolean previousEmpty = true;
+         int b;
+         while (true) {
+            b = in.read();
+            if (b == '\n' || b < 0) {
+               if (!lineEmpty && previousEmpty) {
+                  if (count == offsets.length)
+                     offsets = Arrays.copyOf(offsets, count * 2);
+                  offsets[count++] = lineStart;
+               }
+               if (b < 0)
+                  break;
+               previousEmpty = lineEmpty;
+               lineEmpty = true;
+               lineStart = position + 1;
+            } else if (b > ' ') {
+               lineEmpty = false;
+            }
+            position++;
+         }
+      } finally {
+         in.close();
+      }
+      return Arrays.copyOf(offsets, count);
+   }
+
+
+   // ======= Saving and loading =======
+
+
+   /**
+    * Save the index to a file.
+    * @param fileName Location of the index file.
+    * @throws IOException If the file cannot be written.
+    */
+   public void save (String fileName) throws IOException {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+      try {
+         out.writeInt(MAGIC);
+         out.writeInt(VERSION);
+         out.writeUTF(corpusFileName);
+         out.writeLong(corpusLength);
+         out.writeLong(corpusModified);
+         out.writeInt(offsets.length);
+         for (long offset : offsets)
+            out.writeLong(offset);
+         for (Map<String, Postings> field : fields) {
+            out.writeInt(field.size());
+            for (Map.Entry<String, Postings> entry : field.entrySet()) {
+               Postings postings = entry.getValue();
+               out.writeUTF(entry.getKey());
+               out.writeInt(postings.count);
+               out.writeInt(postings.size);
+               out.write(postings.data, 0, postings.size);
+            }
+         }
+      } finally {
+         out.close();
+      }
+   }
+
+
+   /**
+    * Load an index that was saved before.
+    * The corpus must still be at the same location and must not have been changed
+    * (same size and modification time as when the index was built).
+    * @param fileName Location of the index file.
+    * @return The index.
+    * @throws IOException If the file cannot be read or is no index,
+    *    or the corpus was changed since it was indexed.
+    */
+   public static CorpusIndex load (String fileName) throws IOException {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)));
+      try {
+         if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            throw new IOException("Not a corpus index: " + fileName);
+         String corpusFileName = in.readUTF();
+         long corpusLength = in.readLong();
+         long corpusModified = in.readLong();
+         File corpusFile = new File(corpusFileName);
+         if (!corpusFile.isFile())
+            throw new IOException("Corpus of index " + fileName + " not found: " + corpusFileName);
+         if (corpusFile.length() != corpusLength || corpusFile.lastModified() != corpusModified)
+            throw new IOException("Corpus " + corpusFileName + " was changed after index " + fileName + " was built");
+         long[] offsets = new long[in.readInt()];
+         for (int i=0; i<offsets.length; i++)
+            offsets[i] = in.readLong();
+         List<Map<String, Postings>> fields = new ArrayList<Map<String, Postings>>(FIELDS);
+         for (int f=0; f<FIELDS; f++) {
+            int terms = in.readInt();
+            Map<String, Postings> field = new HashMap<String, Postings>(terms * 2);
+            for (int t=0; t<terms; t++) {
+               String term = in.readUTF();
+               int count = in.readInt();
+               byte[] data = new byte[in.readInt()];
+               in.readFully(data);
+               field.put(term, new Postings(count, data));
+            }
+            fields.add(field);
+         }
+         return new CorpusIndex(corpusFileName, corpusLength, corpusModified, offsets, fields);
+      } finally {
+         in.close();
+      }
+   }
+
+
+   // ======= Queries =======
+
+
+   /**
+    * @return Location of the corpus.
+    */
+   public String getCorpusFileName () {
+      return corpusFileName;
+   }
+
+
+   /**
+    * @return Number of sentences in the corpus.
+    */
+   public int getSentenceCount () {
+      return offsets.length;
+   }
+
+
+   /**
+    * @param field FORM, LEMMA or POS.
+    * @param term A form/lemma/POS.
+    * @return Number of occurrences of the term.
+    */
+   public int getFrequency (int field, String term) {
+      Postings postings = fields.get(field).get(term);
+      return postings == null ? 0 : postings.count;
+   }
+
+
+   /**
+    * Find all occurrences of a form/lemma/POS.
+    * @param field FORM, LEMMA or POS.
+    * @param term A form/lemma/POS.
+    * @return The occurrences in order (empty list if there are none).
+    */
+   public List<Posting> find (int field, String term) {
+      return findPhrase(new int[] {field}, new String[] {term});
+   }
+
+
+   /**
+    * Find all occurrences of a sequence of words.
+    * @param field FORM, LEMMA or POS (the same for all words).
+    * @param terms Form/lemma/POS of each word.
+    * @return The occurrences in order, with the id of the first word (empty list if there are none).
+    */
+   public List<Posting> findPhrase (int field, String... terms) {
+      int[] fieldOfTerms = new int[terms.length];
+      Arrays.fill(fieldOfTerms, field);
+      return findPhrase(fieldOfTerms, terms);
+   }
+
+
+   /**
+    * Find all occurrences of a sequence of words,
+    * e.g., lemma "as" + POS "JJ" + lemma "as".
+    * @param fieldOfTerms FORM, LEMMA or POS for each word.
+    * @param terms Form/lemma/POS of each word.
+    * @return The occurrences in order, with the id of the first word (empty list if there are none).
+    */
+   public List<Posting> findPhrase (int[] fieldOfTerms, String[] terms) {
+      List<Posting> found = new ArrayList<Posting>();
+      if (terms.length == 0)
+         return found;
+
+      // Start with the rarest term, so that there are few candidates
+      Postings[] postings = new Postings[terms.length];
+      int rarest = 0;
+      for (int i=0; i<terms.length; i++) {
+         postings[i] = fields.get(fieldOfTerms[i]).get(terms[i]);
+         if (postings[i] == null)
+            return found;
+         if (postings[i].count < postings[rarest].count)
+            rarest = i;
+      }
+
+      // Candidates: sentence and id of the first word of the phrase
+      int[][] decoded = postings[rarest].decode();
+      int[] sentences = decoded[0];
+      int[] words = decoded[1];
+      int size = sentences.length;
+      for (int i=0; i<size; i++)
+         words[i] -= rarest;
+
+      // Keep the candidates where the other terms are at the right position
+      for (int t=0; t<terms.length && size > 0; t++) {
+         if (t == rarest)
+            continue;
+         int[][] other = postings[t].decode();
+         int[] otherSentences = other[0];
+         int[] otherWords = other[1];
+         int kept = 0;
+         int j = 0;
+         for (int i=0; i<size; i++) {
+            int sentence = sentences[i];
+            int word = words[i] + t;
+            while (j < otherSentences.length && (otherSentences[j] < sentence
+                  || (otherSentences[j] == sentence && otherWords[j] < word)))
+               j++;
+            if (j < otherSentences.length && otherSentences[j] == sentence && otherWords[j] == word) {
+               sentences[kept] = sentence;
+               words[kept] = words[i];
+               kept++;
+            }
+         }
+         size = kept;
+      }
+
+      for (int i=0; i<size; i++)
+         found.add(new Posting(sentences[i], words[i]));
+      return found;
+   }
+
+
+   /**
+    * Numbers of the sentences that contain a form/lemma/POS.
+    * @param field FORM, LEMMA or POS.
+    * @param term A form/lemma/POS.
+    * @return Sentence numbers in order, each only once.
+    */
+   public int[] findSentences (int field, String term) {
+      Postings postings = fields.get(field).get(term);
+      if (postings == null)
+         return new int[0];
+      int[] sentences = postings.decode()[0];
+      int size = 0;
+      for (int i=0; i<sentences.length; i++) {
+         if (size == 0 || sentences[size-1] != sentences[i])
+            sentences[size++] = sentences[i];
+      }
+      return Arrays.copyOf(sentences, size);
+   }
+
+
+   /**
+    * Read a sentence from the corpus.
+    * @param sentenceNumber Number of the sentence (starting with 0).
+    * @return Sentence with depencency information and all SRL information
+    *    (null if it cannot be read).
+    * @throws IOException If the corpus cannot be read.
+    */
+   public SRLSentence getSentence (int sentenceNumber) throws IOException {
+      ParseReaderCoNLL reader = new ParseReaderCoNLL(corpusFileName);
+      try {
+         reader.openFileAt(offsets[sentenceNumber]);
+         return reader.readParseSRL();
+      } finally {
+         reader.close();
+      }
+   }
+
+}
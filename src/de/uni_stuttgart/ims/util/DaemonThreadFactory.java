@@ -0,0 +1,56 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Creates named daemon threads for thread pools,
+ * so that a pool that is not shut down does not keep the JVM running.
+ * 
+ * @author kesslewd
+ *
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+   /**
+    * Prefix for the thread names.
+    */
+   private final String name;
+
+   /**
+    * Number of the next thread.
+    */
+   private final AtomicInteger counter = new AtomicInteger(1);
+
+
+   /**
+    * Create a thread factory.
+    * @param name Prefix for the thread names (threads are called name-1, name-2, ...).
+    */
+   public DaemonThreadFactory (String name) {
+      this.name = name;
+   }
+
+
+   /**
+    * Create a new daemon thread.
+    * @param runnable What the thread should do.
+    * @return The thread (not started).
+    */
+   @Override
+   public Thread newThread (Runnable runnable) {
+      Thread thread = new Thread(runnable, name + "-" + counter.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+   }
+
+
+}
@@ -10,7 +10,7 @@ package de.uni_stuttgart.ims.util;
 import java.util.ArrayList;
 import java.util.List;
 
-import de.uni_stuttgart.ims.nlpbase.nlp.POSUtils;
+import de.uni_stuttgart.ims.nlpbase.nlp.POSUtils.POSCategory;
 import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
 import de.uni_stuttgart.ims.nlpbase.nlp.Word;
 
@@ -69,10 +69,10 @@ public class HeadFinder {
       List<Word> toIgnoreDet= new ArrayList<Word>();
 
       for (Word word : words) {
-         if (POSUtils.isPrepositionPOS(word.getPOS())) {
+         if (word.getPOSCategory() == POSCategory.PREPOSITION) {
             //System.out.println("delete " + word);
             toIgnorePrep.add(word);
-         } else if (POSUtils.isDeterminerPOS(word.getPOS())) {
+         } else if (word.getPOSCategory() == POSCategory.DETERMINER) {
             toIgnoreDet.add(word);
          } else {
             toConsider.add(word);
@@ -129,12 +129,12 @@ public class HeadFinder {
       //List<Word> toIgnoreDet= new ArrayList<Word>();
 
       for (Word word : words) {
-         if (POSUtils.isPrepositionPOS(word.getPOS())) {
+         if (word.getPOSCategory() == POSCategory.PREPOSITION) {
             //System.out.println("delete " + word);
             toIgnorePrep.add(word);
          //} else if (POSUtils.isDeterminerPOS(word.getPOS())) { // don't do this because this includes model numbers as CD
          //   toIgnoreDet.add(word);
-         } else if (POSUtils.isPunctuationPOS(word.getPOS())) {
+         } else if (word.getPOSCategory() == POSCategory.PUNCTUATION) {
             toIgnorePunct.add(word);
          } else {
             toConsider.add(word);
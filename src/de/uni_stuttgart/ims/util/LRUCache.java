@@ -0,0 +1,198 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Size-bounded cache that removes the least recently used entries.
+ * Can be used by several threads at once. The cache is divided into
+ * segments with their own lock, so threads rarely wait for each other.
+ * The maximum size is shared among the segments and each segment removes
+ * its own least recently used entry, so the removed entry is not always
+ * the least recently used one of the whole cache.
+ * Counts hits and misses.
+ *
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ * @author kesslewd
+ *
+ */
+public class LRUCache<K, V> {
+
+   /**
+    * Maximum number of segments (power of two).
+    */
+   private static final int SEGMENTS = 16;
+
+   private final Segment<K, V>[] segments;
+   private final int segmentMask;
+   private final AtomicLong hits = new AtomicLong();
+   private final AtomicLong misses = new AtomicLong();
+
+
+   /**
+    * Create a cache.
+    * @param maximumSize Maximum number of entries (at least 1),
+    *    each segment holds an equal share.
+    */
+   public LRUCache (int maximumSize) {
+      maximumSize = Math.max(1, maximumSize);
+      // Small caches get fewer segments, so that every segment has at least one entry
+      int count = 1;
+      while (count < SEGMENTS && count * 2 <= maximumSize)
+         count *= 2;
+      segments = newSegmentArray(count);
+      segmentMask = count - 1;
+      for (int i=0; i<count; i++) {
+         int segmentSize = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+         segments[i] = new Segment<K, V>(segmentSize);
+      }
+   }
+
+
+   /**
+    * Create an array of segments (there are no generic arrays in Java).
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   private static <K, V> Segment<K, V>[] newSegmentArray (int size) {
+      return new Segment[size];
+   }
+
+
+   /**
+    * Find the segment responsible for a key.
+    * @param key The key.
+    * @return The segment.
+    */
+   private Segment<K, V> segmentFor (Object key) {
+      int h = key.hashCode();
+      h ^= (h >>> 16);
+      return segments[h & segmentMask];
+   }
+
+
+   /**
+    * Get the value for the key and mark it as recently used.
+    * @param key The key.
+    * @return The value, or null if the key is not in the cache.
+    */
+   public V get (K key) {
+      Segment<K, V> segment = segmentFor(key);
+      V value;
+      synchronized (segment) {
+         value = segment.get(key);
+      }
+      if (value == null)
+         misses.incrementAndGet();
+      else
+         hits.incrementAndGet();
+      return value;
+   }
+
+
+   /**
+    * Put a value in the cache.
+    * Removes the least recently used entry of the segment if it is full.
+    * @param key The key.
+    * @param value The value (not null).
+    */
+   public void put (K key, V value) {
+      Segment<K, V> segment = segmentFor(key);
+      synchronized (segment) {
+         segment.put(key, value);
+      }
+   }
+
+
+   /**
+    * Remove all entries, reset the statistics.
+    */
+   public void clear () {
+      for (Segment<K, V> segment : segments) {
+         synchronized (segment) {
+            segment.clear();
+         }
+      }
+      hits.set(0);
+      misses.set(0);
+   }
+
+
+   /**
+    * @return Current number of entries.
+    */
+   public int size () {
+      int size = 0;
+      for (Segment<K, V> segment : segments) {
+         synchronized (segment) {
+            size += segment.size();
+         }
+      }
+      return size;
+   }
+
+
+   /**
+    * @return Number of lookups that found a value.
+    */
+   public long getHits () {
+      return hits.get();
+   }
+
+
+   /**
+    * @return Number of lookups that found nothing.
+    */
+   public long getMisses () {
+      return misses.get();
+   }
+
+
+   /**
+    * @return Fraction of lookups that found a value (0 if there were none).
+    */
+   public double getHitRate () {
+      long h = hits.get();
+      long total = h + misses.get();
+      return total == 0 ? 0 : (double) h / total;
+   }
+
+
+   /**
+    * @return Size and hit statistics.
+    */
+   public String toString () {
+      return "size=" + size() + " hits=" + getHits() + " misses=" + getMisses()
+            + String.format(" hitrate=%.3f", getHitRate());
+   }
+
+
+   /**
+    * One part of the cache, LinkedHashMap in access order.
+    */
+   private static class Segment<K, V> extends LinkedHashMap<K, V> {
+      private static final long serialVersionUID = 1L;
+      private final int maximumSize;
+
+      Segment (int maximumSize) {
+         super(16, 0.75f, true);
+         this.maximumSize = maximumSize;
+      }
+
+      @Override
+      protected boolean removeEldestEntry (Map.Entry<K, V> eldest) {
+         return size() > maximumSize;
+      }
+   }
+
+
+}
@@ -0,0 +1,366 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
+import de.uni_stuttgart.ims.nlpbase.nlp.Word;
+
+
+/**
+ * Finds all multi-word units of a lexicon (e.g., "more than", "in comparison to")
+ * in a sentence with one pass over the words.
+ *
+ * The lexicon is compiled into an Aho-Corasick automaton once,
+ * then every sentence is matched in linear time (independent of the
+ * number of expressions). All matches are found, also matches that overlap
+ * or are inside each other.
+ * Expressions can be matched against form, lemma, POS or deprel of the words
+ * (same types as in StringWordMapping), with or without case.
+ *
+ * A matcher cannot be changed after it is created,
+ * so it can be used by several threads at once.
+ *
+ * @author kesslewd
+ */
+public class MWUMatcher {
+
+   // What is compared (same numbers as in StringWordMapping)
+   public static final int FORM = 0;
+   public static final int LEMMA = 1;
+   public static final int POS = 2;
+   public static final int DEPREL = 3;
+
+   private final int type;
+   private final boolean caseSensitive;
+
+   /**
+    * Tokens of each expression.
+    */
+   private final String[][] expressions;
+
+   /**
+    * Number of each token in the lexicon.
+    */
+   private final Map<String, Integer> vocabulary = new HashMap<String, Integer>();
+
+   /**
+    * Transitions of the start state (index is the token number, 0 = stay in start state).
+    */
+   private final int[] rootTransitions;
+
+   /**
+    * Transitions of the other states: sorted token numbers and the target states.
+    */
+   private final int[][] transitionTokens;
+   private final int[][] transitionTargets;
+
+   /**
+    * State to continue with if there is no transition (failure link).
+    */
+   private final int[] fail;
+
+   /**
+    * Expressions that end in each state (null = none).
+    */
+   private final int[][] outputs;
+
+   /**
+    * Next state on the failure path that has outputs (0 = none).
+    */
+   private final int[] outputLinks;
+
+   /**
+    * Number of words that have been matched in each state.
+    */
+   private final int[] depths;
+
+
+   /**
+    * A match of an expression in a sentence.
+    */
+   public static class Match {
+      private final int expression;
+      private final int begin;
+      private final List<Word> words;
+
+      Match (int expression, int begin, List<Word> words) {
+         this.expression = expression;
+         this.begin = begin;
+         this.words = words;
+      }
+
+      /**
+       * @return Number of the expression (position in the lexicon).
+       */
+      public int getExpression () {
+         return expression;
+      }
+
+      /**
+       * @return Position of the first word in the word list of the sentence (starting with 0).
+       */
+      public int getBegin () {
+         return begin;
+      }
+
+      /**
+       * @return Position after the last word in the word list of the sentence.
+       */
+      public int getEnd () {
+         return begin + words.size();
+      }
+
+      /**
+       * @return The words of the match in order.
+       */
+      public List<Word> getWords () {
+         return words;
+      }
+
+      @Override
+      public String toString () {
+         return "Match " + expression + " [" + begin + "," + getEnd() + "]";
+      }
+   }
+
+
+   /**
+    * Compile a lexicon.
+    * @param expressions Tokens of each expression (empty expressions are never found).
+    * @param type What of the words is compared (FORM, LEMMA, POS or DEPREL).
+    * @param caseSensitive Use case information.
+    */
+   public MWUMatcher (List<String[]> expressions, int type, boolean caseSensitive) {
+      if (type < FORM || type > DEPREL)
+         throw new IllegalArgumentException("Unknown type " + type);
+      this.type = type;
+      this.caseSensitive = caseSensitive;
+      this.expressions = expressions.toArray(new String[expressions.size()][]);
+
+      // Build the trie
+      List<Map<Integer, Integer>> children = new ArrayList<Map<Integer, Integer>>();
+      List<List<Integer>> ends = new ArrayList<List<Integer>>();
+      List<Integer> depthList = new ArrayList<Integer>();
+      children.add(new HashMap<Integer, Integer>());
+      ends.add(null);
+      depthList.add(0);
+      for (int e=0; e<this.expressions.length; e++) {
+         String[] tokens = this.expressions[e];
+         if (tokens.length == 0)
+            continue;
+         int state = 0;
+         for (String token : tokens) {
+            String key = normalize(token);
+            Integer id = vocabulary.get(key);
+            if (id == null) {
+               id = vocabulary.size() + 1;
+               vocabulary.put(key, id);
+            }
+            Integer next = children.get(state).get(id);
+            if (next == null) {
+               next = children.size();
+               children.get(state).put(id, next);
+               children.add(new HashMap<Integer, Integer>());
+               ends.add(null);
+               depthList.add(depthList.get(state) + 1);
+            }
+            state = next;
+         }
+         if (ends.get(state) == null)
+            ends.set(state, new ArrayList<Integer>());
+         ends.get(state).add(e);
+      }
+
+      // Compile transitions into arrays
+      int states = children.size();
+      rootTransitions = new int[vocabulary.size() + 1];
+      for (Map.Entry<Integer, Integer> entry : children.get(0).entrySet())
+         rootTransitions[entry.getKey()] = entry.getValue();
+      transitionTokens = new int[states][];
+      transitionTargets = new int[states][];
+      outputs = new int[states][];
+      depths = new int[states];
+      for (int s=0; s<states; s++) {
+         Map<Integer, Integer> map = children.get(s);
+         int[] tokens = new int[map.size()];
+         int i = 0;
+         for (Integer token : map.keySet())
+            tokens[i++] = token;
+         Arrays.sort(tokens);
+         int[] targets = new int[tokens.length];
+         for (i=0; i<tokens.length; i++)
+            targets[i] = map.get(tokens[i]);
+         transitionTokens[s] = tokens;
+         transitionTargets[s] = targets;
+         if (ends.get(s) != null) {
+            outputs[s] = new int[ends.get(s).size()];
+            for (i=0; i<outputs[s].length; i++)
+               outputs[s][i] = ends.get(s).get(i);
+         }
+         depths[s] = depthList.get(s);
+      }
+
+      // Failure links (breadth first, so the links of shorter states are known)
+      fail = new int[states];
+      outputLinks = new int[states];
+      ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+      for (int target : transitionTargets[0])
+         queue.add(target);
+      while (!queue.isEmpty()) {
+         int state = queue.poll();
+         for (int i=0; i<transitionTokens[state].length; i++) {
+            int token = transitionTokens[state][i];
+            int target = transitionTargets[state][i];
+            int link = next(fail[state], token);
+            fail[target] = link;
+            outputLinks[target] = outputs[link] != null ? link : outputLinks[link];
+            queue.add(target);
+         }
+      }
+   }
+
+
+   /**
+    * Case folding of a token.
+    */
+   private String normalize (String token) {
+      return caseSensitive ? token : token.toLowerCase();
+   }
+
+
+   /**
+    * Target of a transition, -1 if there is none.
+    */
+   private int transition (int state, int token) {
+      if (state == 0)
+         return rootTransitions[token];
+      int i = Arrays.binarySearch(transitionTokens[state], token);
+      return i >= 0 ? transitionTargets[state][i] : -1;
+   }
+
+
+   /**
+    * Next state after reading a token (following failure links).
+    */
+   private int next (int state, int token) {
+      while (true) {
+         int target = transition(state, token);
+         if (target >= 0)
+            return target;
+         state = fail[state];
+      }
+   }
+
+
+   /**
+    * Get the value of the word that is compared.
+    */
+   private String getToCompare (Word word) {
+      switch (type) {
+      case FORM: return word.getForm();
+      case LEMMA: return word.getLemma();
+      case POS: return word.getPOS();
+      default: return word.getDeprel();
+      }
+   }
+
+
+   // ======= Matching =======
+
+
+   /**
+    * @return Number of expressions in the lexicon.
+    */
+   public int size () {
+      return expressions.length;
+   }
+
+
+   /**
+    * @param expression Number of an expression.
+    * @return The tokens of this expression.
+    */
+   public String[] getExpression (int expression) {
+      return expressions[expression].clone();
+   }
+
+
+   /**
+    * Find all occurrences of all expressions in a sentence.
+    * Matches are sorted by their last word, matches that end
+    * at the same word are sorted longest first.
+    *
+    * @param sentence A sentence.
+    * @param ignorePredicates Predicates cannot be part of a match if set to true.
+    * @return All matches (empty list if none was found).
+    */
+   public List<Match> findAll (Sentence sentence, boolean ignorePredicates) {
+      List<Word> words = sentence.getWordList();
+      List<Match> found = new ArrayList<Match>();
+      int state = 0;
+      int position = 0;
+      for (Word word : words) {
+         // Skip predicates if desired - reset
+         if (ignorePredicates && word.isPredicate()) {
+            state = 0;
+            position++;
+            continue;
+         }
+
+         String value = getToCompare(word);
+         Integer token = value == null ? null : vocabulary.get(normalize(value));
+         if (token == null) {
+            state = 0; // the token is in no expression
+         } else {
+            state = next(state, token);
+         }
+
+         int output = outputs[state] != null ? state : outputLinks[state];
+         while (output != 0) {
+            int length = depths[output];
+            List<Word> matchWords = new ArrayList<Word>(words.subList(position - length + 1, position + 1));
+            for (int expression : outputs[output])
+               found.add(new Match(expression, position - length + 1, matchWords));
+            output = outputLinks[output];
+         }
+         position++;
+      }
+      return found;
+   }
+
+
+   /**
+    * Checks if any expression occurs in a sentence.
+    * @param sentence A sentence.
+    * @param ignorePredicates Predicates cannot be part of a match if set to true.
+    * @return TRUE if at least one expression was found.
+    */
+   public boolean matches (Sentence sentence, boolean ignorePredicates) {
+      int state = 0;
+      for (Word word : sentence.getWordList()) {
+         if (ignorePredicates && word.isPredicate()) {
+            state = 0;
+            continue;
+         }
+         String value = getToCompare(word);
+         Integer token = value == null ? null : vocabulary.get(normalize(value));
+         state = token == null ? 0 : next(state, token);
+         if (outputs[state] != null || outputLinks[state] != 0)
+            return true;
+      }
+      return false;
+   }
+
+}
@@ -160,54 +160,10 @@ public class StringWordMapping {
     * @return List of words in order of sequence, null if not found.
     */
    public static List<Word> identifyMWU (Sentence sentence, String[] tokens, boolean ignorePredicates, boolean caseSensitive) {
-      
-      List<Word> words = sentence.getWordList();
-      
-      //System.out.println("predicate: " + Arrays.asList(tokens).toString());
-      String top = tokens[0];
-      //System.out.println("top: " + top);
-      int i = 0;
-      int start = -1;
-      boolean foundAll = false;
-      for (Word word : words) {
-         //System.out.println("check " + word.getForm() + " > "+ i);
-         String toCompare = word.getForm();
-         if (compareTokenWord(top, toCompare, caseSensitive)) {
-            // Skip predicates if desired - reset
-            if (ignorePredicates && word.isPredicate()) {
-               i = 0;
-               start = -1;
-               top = tokens[0];
-               continue;
-            }
-            //System.out.println("find top " + top + " > "+ i);
-            if (i == 0) {
-               start = words.indexOf(word);
-            }
-            if (i == tokens.length-1) {
-               //System.out.println("found all");
-               foundAll = true;
-               break; // found it all
-            }
-            i++;
-            top = tokens[i];
-         } else if (i != 0) {
-            //System.out.println("reset");
-            i = 0;
-            start = -1;
-            top = tokens[0];
-         }
-      }
-
-      if (foundAll) {
-         List<Word> foundWords = new ArrayList<Word>();
-         for (int j=start; j<start+tokens.length; j++) {
-            foundWords.add(words.get(j));
-         }
-         return foundWords;
-      }
-      
-      return null;
+      List<List<Word>> found = findMWU(sentence, tokens, ignorePredicates, caseSensitive, true);
+      if (found.size() == 0)
+         return null;
+      return found.get(0);
    }
    
 
@@ -221,54 +177,93 @@ public class StringWordMapping {
     * @return List of words in order of sequence, null if not found.
     */
    public static List<List<Word>> identifyMWUAll (Sentence sentence, String[] tokens, boolean ignorePredicates, boolean caseSensitive) {
-      
-      List<Word> words = sentence.getWordList();
+      List<List<Word>> found = findMWU(sentence, tokens, ignorePredicates, caseSensitive, false);
+      if (found.size() == 0)
+         return null;
+      return found;
+   }
+
+
+   /**
+    * Find the occurrences of one sequence of tokens with one pass over the words
+    * (Knuth-Morris-Pratt: after a match or mismatch the search continues
+    * with the longest part of the tokens that was already seen).
+    * Finds the same matches as an MWUMatcher with only this expression,
+    * without building the automaton.
+    * 
+    * @param firstOnly Stop after the first match.
+    * @return List of words of each match (empty if none was found).
+    */
+   private static List<List<Word>> findMWU (Sentence sentence, String[] tokens, boolean ignorePredicates, boolean caseSensitive, boolean firstOnly) {
       List<List<Word>> found = new ArrayList<List<Word>>();
+      int length = tokens.length;
+      if (length == 0)
+         return found;
 
-      
-      //System.out.println("predicate: " + Arrays.asList(tokens).toString());
-      String top = tokens[0];
-      //System.out.println("top: " + top);
-      int i = 0;
-      int start = -1;
+      String[] toFind = tokens;
+      if (!caseSensitive) {
+         toFind = new String[length];
+         for (int i=0; i<length; i++) {
+            toFind[i] = tokens[i].toLowerCase();
+         }
+      }
+
+      // Length of the longest proper prefix that is also a suffix of the first i+1 tokens
+      int[] fallback = new int[length];
+      for (int i=1, k=0; i<length; i++) {
+         while (k > 0 && !toFind[i].equals(toFind[k]))
+            k = fallback[k-1];
+         if (toFind[i].equals(toFind[k]))
+            k++;
+         fallback[i] = k;
+      }
+
+      List<Word> words = sentence.getWordList();
+      int matched = 0;
+      int position = 0;
       for (Word word : words) {
-         //System.out.println("check " + word.getForm() + " > "+ i);
+         // Skip predicates if desired - reset
+         if (ignorePredicates && word.isPredicate()) {
+            matched = 0;
+            position++;
+            continue;
+         }
+
          String toCompare = word.getForm();
-         if (compareTokenWord(top, toCompare, caseSensitive)) {
-            // Skip predicates if desired - reset
-            if (ignorePredicates && word.isPredicate()) {
-               i = 0;
-               start = -1;
-               top = tokens[0];
-               continue;
-            }
-            //System.out.println("find top " + top + " > "+ i);
-            if (i == 0) {
-               start = words.indexOf(word);
-            }
-            if (i == tokens.length-1) {
-               //System.out.println("found all");
-               List<Word> foundWords = new ArrayList<Word>();
-               for (int j=start; j<start+tokens.length; j++) {
-                  foundWords.add(words.get(j));
-               }
-               found.add(foundWords);
+         if (!caseSensitive)
+            toCompare = toCompare.toLowerCase();
+         while (matched > 0 && !toCompare.equals(toFind[matched]))
+            matched = fallback[matched-1];
+         if (toCompare.equals(toFind[matched]))
+            matched++;
 
-               //System.out.println("reset");
-               i = 0;
-               start = -1;
-               top = tokens[0];
-            }
-            i++;
-            top = tokens[i];
-         } else if (i != 0) {
-            //System.out.println("reset");
-            i = 0;
-            start = -1;
-            top = tokens[0];
+         if (matched == length) {
+            found.add(new ArrayList<Word>(words.subList(position - length + 1, position + 1)));
+            if (firstOnly)
+               break;
+            matched = fallback[matched-1];
          }
+         position++;
       }
+      return found;
+   }
+
 
+   /**
+    * Find all ocurrences of the words that correspond to any expression of a lexicon.
+    * All expressions are searched at once, this is much faster
+    * than calling 'identifyMWUAll' for each expression.
+    * 
+    * @param sentence Sentence that is supposed to contain the expressions.
+    * @param matcher The compiled lexicon.
+    * @param ignorePredicates Ignore predicates in processing if set to true.
+    * @return List of words of each match in order of sequence, null if not found.
+    */
+   public static List<List<Word>> identifyMWUAll (Sentence sentence, MWUMatcher matcher, boolean ignorePredicates) {
+      List<List<Word>> found = new ArrayList<List<Word>>();
+      for (MWUMatcher.Match match : matcher.findAll(sentence, ignorePredicates)) {
+         found.add(match.getWords());
+      }
 
       if (found.size() == 0) 
          return null;
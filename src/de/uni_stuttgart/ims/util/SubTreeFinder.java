@@ -12,6 +12,7 @@ import java.util.TreeSet;
 
 import de.uni_stuttgart.ims.nlpbase.nlp.ArgumentType;
 import de.uni_stuttgart.ims.nlpbase.nlp.POSUtils;
+import de.uni_stuttgart.ims.nlpbase.nlp.POSUtils.POSCategory;
 import de.uni_stuttgart.ims.nlpbase.nlp.SRLSentence;
 import de.uni_stuttgart.ims.nlpbase.nlp.Word;
 
@@ -23,7 +24,18 @@ import de.uni_stuttgart.ims.nlpbase.nlp.Word;
  *
  */
 public class SubTreeFinder {
-   
+
+   /**
+    * Words with these POS are not part of an entity.
+    */
+   private static final int entityFilter = POSUtils.mask(
+         POSCategory.CONJUNCTION, POSCategory.PREPOSITION, POSCategory.PUNCTUATION);
+
+   /**
+    * Words with these POS are not part of an aspect.
+    */
+   private static final int aspectFilter = entityFilter | POSUtils.mask(POSCategory.DETERMINER);
+
    private static boolean filterFromSubTree (Word word, ArgumentType argumentName) {
 
       // TODO maybe we want not to filter ths??
@@ -47,7 +59,7 @@ public class SubTreeFinder {
 //               + POSUtils.isPrepositionPOS(pos)+ " "    
 //               + POSUtils.isPunctuationPOS(pos)
 //               );
-         return POSUtils.isConjunctionPOS(pos) | POSUtils.isPrepositionPOS(pos) | POSUtils.isPunctuationPOS(pos);
+         return POSUtils.isInCategories(word, entityFilter);
       }
 
       if (argumentName == ArgumentType.aspect) {
@@ -60,11 +72,7 @@ public class SubTreeFinder {
 //               + POSUtils.isDeterminerPOS(pos)
 //               );
          
-         return POSUtils.isConjunctionPOS(pos) | 
-               POSUtils.isPrepositionPOS(pos) | 
-               POSUtils.isPunctuationPOS(pos)| 
-               POSUtils.isDeterminerPOS(pos)
-               ;
+         return POSUtils.isInCategories(word, aspectFilter);
       }
       
       // the rest of arguments may be anything
@@ -0,0 +1,538 @@
+// (c) Wiltrud Kessler
+// 19.10.2026
+// This code is distributed under a Creative Commons
+// Attribution-NonCommercial-ShareAlike 3.0 Unported license 
+// http://creativecommons.org/licenses/by-nc-sa/3.0/
+
+
+package de.uni_stuttgart.ims.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.uni_stuttgart.ims.nlpbase.nlp.Sentence;
+import de.uni_stuttgart.ims.nlpbase.nlp.Word;
+
+
+/**
+ * A pattern over the words of a sentence, e.g.,
+ * <pre>
+ * JJR than [NN|NNS]
+ * lemma=as * lemma=as
+ * pos=DT [pos=JJ|pos=JJR]* deprel=nsubj
+ * </pre>
+ *
+ * A pattern is a sequence of elements separated by whitespace,
+ * each element stands for one word:
+ * <pre>
+ * value          form, lemma or POS of the word is the value
+ * form=value     form of the word is the value (also: lemma=, pos=, deprel=)
+ * [a|b|pos=c]    one of these is true
+ * .              any word
+ * </pre>
+ * An element can be followed by '?' (optional), '*' (any number of times)
+ * or '+' (at least once). A '*' alone means any number of any words (same as '.*').
+ * Use '\' to find the characters . * ? + [ as words (e.g., "\?").
+ * Values are compared with case.
+ *
+ * The pattern is compiled into an automaton (NFA) when it is created,
+ * a sentence is searched by going over its words once and following
+ * all possible paths through the automaton at the same time.
+ * A pattern cannot be changed after it is created,
+ * so it can be used by several threads at once.
+ *
+ * @author kesslewd
+ */
+public class TokenPattern {
+
+   // Kinds of states
+   private static final int WORD = 0;
+   private static final int SPLIT = 1;
+   private static final int MATCH = 2;
+
+   // Attributes of a word (-1 = form, lemma or POS)
+   private static final int ANY_ATTRIBUTE = -1;
+   private static final int FORM = 0;
+   private static final int LEMMA = 1;
+   private static final int POS = 2;
+   private static final int DEPREL = 3;
+   private static final String[] attributeNames = {"form", "lemma", "pos", "deprel"};
+
+   private final String pattern;
+
+   /**
+    * States of the automaton: kind, condition (WORD) and next states
+    * (WORD: next1, SPLIT: next1 and next2).
+    */
+   private final int[] kinds;
+   private final Condition[] conditions;
+   private final int[] next1;
+   private final int[] next2;
+   private final int startState;
+
+
+   /**
+    * Condition on one word.
+    */
+   private static class Condition {
+      /** null = any word */
+      final int[] attributes;
+      final String[] values;
+
+      Condition (int[] attributes, String[] values) {
+         this.attributes = attributes;
+         this.values = values;
+      }
+
+      boolean matches (Word word) {
+         if (attributes == null)
+            return true;
+         for (int i=0; i<attributes.length; i++) {
+            String value = values[i];
+            switch (attributes[i]) {
+            case FORM:
+               if (value.equals(word.getForm()))
+                  return true;
+               break;
+            case LEMMA:
+               if (value.equals(word.getLemma()))
+                  return true;
+               break;
+            case POS:
+               if (value.equals(word.getPOS()))
+                  return true;
+               break;
+            case DEPREL:
+               if (value.equals(word.getDeprel()))
+                  return true;
+               break;
+            default:
+               if (value.equals(word.getForm()) || value.equals(word.getLemma()) || value.equals(word.getPOS()))
+                  return true;
+            }
+         }
+         return false;
+      }
+   }
+
+
+   /**
+    * A match of the pattern in a sentence.
+    */
+   public static class Match {
+      private final int begin;
+      private final List<Word> words;
+
+      Match (int begin, List<Word> words) {
+         this.begin = begin;
+         this.words = words;
+      }
+
+      /**
+       * @return Position of the first word in the word list of the sentence (starting with 0).
+       */
+      public int getBegin () {
+         return begin;
+      }
+
+      /**
+       * @return Position after the last word in the word list of the sentence.
+       */
+      public int getEnd () {
+         return begin + words.size();
+      }
+
+      /**
+       * @return The words of the match in order.
+       */
+      public List<Word> getWords () {
+         return words;
+      }
+
+      @Override
+      public String toString () {
+         return "Match [" + begin + "," + getEnd() + "]";
+      }
+   }
+
+
+   // ======= Compiling =======
+
+
+   /**
+    * Compile a pattern (syntax see above).
+    * @param pattern The pattern.
+    * @throws IllegalArgumentException If the pattern is not valid.
+    */
+   public TokenPattern (String pattern) {
+      this.pattern = pattern;
+      Builder builder = new Builder();
+      int start = builder.compile(pattern);
+      this.startState = start;
+      int size = builder.kinds.size();
+      this.kinds = new int[size];
+      this.conditions = new Condition[size];
+      this.next1 = new int[size];
+      this.next2 = new int[size];
+      for (int i=0; i<size; i++) {
+         kinds[i] = builder.kinds.get(i);
+         conditions[i] = builder.conditions.get(i);
+         next1[i] = builder.next1.get(i);
+         next2[i] = builder.next2.get(i);
+      }
+   }
+
+
+   /**
+    * Builds the automaton from parts for each element
+    * (Thompson's construction).
+    * Each part has a start state and a list of open ends
+    * (state*2 for next1, state*2+1 for next2) that are linked to the next part.
+    */
+   private static class Builder {
+      final List<Integer> kinds = new ArrayList<Integer>();
+      final List<Condition> conditions = new ArrayList<Condition>();
+      final List<Integer> next1 = new ArrayList<Integer>();
+      final List<Integer> next2 = new ArrayList<Integer>();
+
+      int addState (int kind, Condition condition) {
+         kinds.add(kind);
+         conditions.add(condition);
+         next1.add(-1);
+         next2.add(-1);
+         return kinds.size() - 1;
+      }
+
+      void link (List<Integer> ends, int state) {
+         for (int end : ends) {
+            if (end % 2 == 0)
+               next1.set(end / 2, state);
+            else
+               next2.set(end / 2, state);
+         }
+      }
+
+      int compile (String pattern) {
+         List<String> elements = split(pattern);
+         if (elements.isEmpty())
+            throw new IllegalArgumentException("Error in pattern '" + pattern + "': empty pattern");
+
+         int start = -1;
+         List<Integer> ends = null;
+         for (String element : elements) {
+            char quantifier = 0;
+            if (element.equals("*")) {
+               element = ".";
+               quantifier = '*';
+            } else if (element.length() > 1 && "?*+".indexOf(element.charAt(element.length()-1)) >= 0
+                  && element.charAt(element.length()-2) != '\\') {
+               quantifier = element.charAt(element.length()-1);
+               element = element.substring(0, element.length()-1);
+            }
+
+            int state = addState(WORD, parseCondition(pattern, element));
+            int partStart = state;
+            List<Integer> partEnds = new ArrayList<Integer>();
+            partEnds.add(state * 2);
+            if (quantifier == '?') {
+               int split = addState(SPLIT, null);
+               next1.set(split, state);
+               partStart = split;
+               partEnds.add(split * 2 + 1);
+            } else if (quantifier == '*') {
+               int split = addState(SPLIT, null);
+               next1.set(split, state);
+               next1.set(state, split);
+               partStart = split;
+               partEnds.clear();
+               partEnds.add(split * 2 + 1);
+            } else if (quantifier == '+') {
+               int split = addState(SPLIT, null);
+               next1.set(split, state);
+               next1.set(state, split);
+               partEnds.clear();
+               partEnds.add(split * 2 + 1);
+            }
+
+            if (ends == null)
+               start = partStart;
+            else
+               link(ends, partStart);
+            ends = partEnds;
+         }
+         link(ends, addState(MATCH, null));
+         return start;
+      }
+   }
+
+
+   /**
+    * Split a pattern into elements (at whitespace outside of [...]).
+    */
+   private static List<String> split (String pattern) {
+      List<String> elements = new ArrayList<String>();
+      StringBuilder element = new StringBuilder();
+      boolean inBrackets = false;
+      for (int i=0; i<pattern.length(); i++) {
+         char c = pattern.charAt(i);
+         if (c == '\\' && i+1 < pattern.length()) {
+            element.append(c).append(pattern.charAt(++i));
+         } else if (Character.isWhitespace(c) && !inBrackets) {
+            if (element.length() > 0)
+               elements.add(element.toString());
+            element.setLength(0);
+         } else {
+            if (c == '[')
+               inBrackets = true;
+            else if (c == ']')
+               inBrackets = false;
+            if (!(inBrackets && Character.isWhitespace(c)))
+               element.append(c);
+         }
+      }
+      if (inBrackets)
+         throw new IllegalArgumentException("Error in pattern '" + pattern + "': missing ']'");
+      if (element.length() > 0)
+         elements.add(element.toString());
+      return elements;
+   }
+
+
+   /**
+    * Condition of one element (without quantifier).
+    */
+   private static Condition parseCondition (String pattern, String element) {
+      if (element.equals("."))
+         return new Condition(null, null);
+
+      List<String> alternatives = new ArrayList<String>();
+      if (element.startsWith("[")) {
+         if (!element.endsWith("]") || element.length() == 2)
+            throw new IllegalArgumentException("Error in pattern '" + pattern + "': invalid element " + element);
+         int begin = 1;
+         for (int i=1; i<element.length(); i++) {
+            char c = element.charAt(i);
+            if (c == '\\') {
+               i++;
+            } else if (c == '|' || i == element.length()-1) {
+               alternatives.add(element.substring(begin, i));
+               begin = i + 1;
+            }
+         }
+      } else {
+         alternatives.add(element);
+      }
+
+      int[] attributes = new int[alternatives.size()];
+      String[] values = new String[alternatives.size()];
+      for (int i=0; i<alternatives.size(); i++) {
+         String alternative = alternatives.get(i);
+         attributes[i] = ANY_ATTRIBUTE;
+         int equals = alternative.indexOf('=');
+         if (equals > 0) {
+            String name = alternative.substring(0, equals).toLowerCase();
+            for (int a=0; a<attributeNames.length; a++) {
+               if (attributeNames[a].equals(name))
+                  attributes[i] = a;
+            }
+            if (name.equals("word"))
+               attributes[i] = FORM;
+            if (attributes[i] != ANY_ATTRIBUTE)
+               alternative = alternative.substring(equals + 1);
+         }
+         values[i] = unescape(alternative);
+         if (values[i].isEmpty())
+            throw new IllegalArgumentException("Error in pattern '" + pattern + "': empty value in " + element);
+      }
+      return new Condition(attributes, values);
+   }
+
+
+   private static String unescape (String value) {
+      if (value.indexOf('\\') < 0)
+         return value;
+      StringBuilder result = new StringBuilder(value.length());
+      for (int i=0; i<value.length(); i++) {
+         char c = value.charAt(i);
+         if (c == '\\' && i+1 < value.length())
+            c = value.charAt(++i);
+         result.append(c);
+      }
+      return result.toString();
+   }
+
+
+   // ======= Matching =======
+
+
+   /**
+    * Active states while searching, with the position of the word
+    * where the path through the automaton started.
+    * States are sorted by priority (paths that started earlier first).
+    */
+   private static class StateList {
+      final int[] states;
+      final int[] starts;
+      int size;
+
+      StateList (int capacity) {
+         states = new int[capacity];
+         starts = new int[capacity];
+      }
+   }
+
+
+   /**
+    * Add a state and all states that can be reached without reading a word.
+    * @param marks Number of the step in which each state was last added.
+    */
+   private void addState (StateList list, int state, int start, int[] marks, int step) {
+      if (marks[state] == step)
+         return; // already there with higher priority
+      marks[state] = step;
+      if (kinds[state] == SPLIT) {
+         addState(list, next1[state], start, marks, step);
+         addState(list, next2[state], start, marks, step);
+      } else {
+         list.states[list.size] = state;
+         list.starts[list.size] = start;
+         list.size++;
+      }
+   }
+
+
+   /**
+    * Find all matches of the pattern in a sentence.
+    * Matches do not overlap, at each position the longest match is taken
+    * (leftmost-longest). Matches have at least one word.
+    *
+    * @param sentence A sentence.
+    * @return All matches in order (empty list if none was found).
+    */
+   public List<Match> findAll (Sentence sentence) {
+      List<Word> words = sentence.getWordList();
+      List<Match> found = new ArrayList<Match>();
+      int size = kinds.length;
+      StateList current = new StateList(size);
+      StateList next = new StateList(size);
+      int[] marks = new int[size];
+      int step = 0;
+
+      int position = 0;
+      while (position < words.size()) {
+         int bestStart = -1;
+         int bestEnd = -1;
+         current.size = 0;
+         step++;
+
+         for (int i=position; ; i++) {
+            // A new path can start at every word until a match was found
+            if (bestStart < 0 && i < words.size())
+               addState(current, startState, i, marks, step);
+
+            // Paths that reached the end of the pattern
+            for (int t=0; t<current.size; t++) {
+               int start = current.starts[t];
+               if (kinds[current.states[t]] == MATCH && start < i
+                     && (bestStart < 0 || start < bestStart || (start == bestStart && i > bestEnd))) {
+                  bestStart = start;
+                  bestEnd = i;
+               }
+            }
+            // Paths that started after the match cannot give a better match
+            if (bestStart >= 0) {
+               int keep = 0;
+               while (keep < current.size && current.starts[keep] <= bestStart)
+                  keep++;
+               current.size = keep;
+            }
+
+            if (i == words.size() || (current.size == 0 && bestStart >= 0))
+               break;
+
+            // Read the word
+            Word word = words.get(i);
+            step++;
+            next.size = 0;
+            for (int t=0; t<current.size; t++) {
+               int state = current.states[t];
+               if (kinds[state] == WORD && conditions[state].matches(word))
+                  addState(next, next1[state], current.starts[t], marks, step);
+            }
+            StateList swap = current;
+            current = next;
+            next = swap;
+         }
+
+         if (bestStart < 0)
+            break;
+         found.add(new Match(bestStart, new ArrayList<Word>(words.subList(bestStart, bestEnd))));
+         position = bestEnd;
+      }
+      return found;
+   }
+
+
+   /**
+    * Find all matches in many sentences in parallel.
+    * @param sentences The sentences.
+    * @param threads Number of threads.
+    * @return Matches of each sentence (see 'findAll(Sentence)'), in the order of the sentences.
+    */
+   public List<List<Match>> findAll (final List<? extends Sentence> sentences, int threads) {
+      final List<List<Match>> results = new ArrayList<List<Match>>(Collections.<List<Match>>nCopies(sentences.size(), null));
+      if (threads <= 1 || sentences.size() < 2) {
+         for (int i=0; i<sentences.size(); i++)
+            results.set(i, findAll(sentences.get(i)));
+         return results;
+      }
+
+      ExecutorService pool = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("TokenPattern"));
+      try {
+         // Several blocks per thread, so that threads with short sentences can help the others
+         int blockSize = Math.max(1, sentences.size() / (threads * 4));
+         List<Future<?>> futures = new ArrayList<Future<?>>();
+         for (int begin=0; begin<sentences.size(); begin+=blockSize) {
+            final int from = begin;
+            final int to = Math.min(sentences.size(), begin + blockSize);
+            futures.add(pool.submit(new Runnable() {
+               @Override
+               public void run () {
+                  for (int i=from; i<to; i++)
+                     results.set(i, findAll(sentences.get(i)));
+               }
+            }));
+         }
+         for (Future<?> future : futures)
+            future.get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new RuntimeException("Interrupted while matching", e);
+      } catch (ExecutionException e) {
+         throw new RuntimeException("Error in matching", e.getCause());
+      } finally {
+         pool.shutdownNow();
+      }
+      return results;
+   }
+
+
+   /**
+    * @return Number of states of the automaton.
+    */
+   public int size () {
+      return kinds.length;
+   }
+
+
+   @Override
+   public String toString () {
+      return pattern;
+   }
+
+}